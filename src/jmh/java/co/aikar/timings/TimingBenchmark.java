@@ -0,0 +1,151 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package co.aikar.timings;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.spongepowered.api.Game;
+import org.spongepowered.api.plugin.PluginContainer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead of a start/stop pair of the {@link SimpleTiming}.
+ * The empty benchmark is the baseline, a pair should stay within a few
+ * {@link System#nanoTime()} calls of it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class MainThreadState {
+
+        SimpleTimingsFactory factory;
+        Timing timing;
+        Timing child;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            final PluginContainer plugin = mock(PluginContainer.class);
+            when(plugin.getId()).thenReturn("benchmark");
+            // The benchmark thread is treated as the main thread
+            this.factory = new SimpleTimingsFactory(mock(Game.class), mock(Logger.class), Thread.currentThread());
+            this.timing = this.factory.of(plugin, "timing", null);
+            this.child = this.factory.of(plugin, "child", this.timing);
+        }
+
+    }
+
+    @State(Scope.Benchmark)
+    public static class SampledState {
+
+        Timing timing;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            final PluginContainer plugin = mock(PluginContainer.class);
+            when(plugin.getId()).thenReturn("benchmark");
+            final SimpleTimingsFactory factory = new SimpleTimingsFactory(mock(Game.class), mock(Logger.class), Thread.currentThread());
+            factory.setSamplingEnabled(true);
+            this.timing = factory.of(plugin, "timing", null);
+        }
+
+    }
+
+    @State(Scope.Benchmark)
+    public static class AsyncState {
+
+        Timing timing;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            final PluginContainer plugin = mock(PluginContainer.class);
+            when(plugin.getId()).thenReturn("benchmark");
+            this.timing = new SimpleTimingsFactory(mock(Game.class), mock(Logger.class), new Thread()).of(plugin, "timing", null);
+        }
+
+    }
+
+    @Benchmark
+    public void baseline() {
+    }
+
+    @Benchmark
+    public long nanoTime() {
+        return System.nanoTime();
+    }
+
+    @Benchmark
+    public void startStopMainThread(MainThreadState state) {
+        state.timing.startTiming().stopTiming();
+    }
+
+    @Benchmark
+    public void startStopIfSync(MainThreadState state) {
+        state.timing.startTimingIfSync();
+        state.timing.stopTimingIfSync();
+    }
+
+    @Benchmark
+    public void startStopGrouped(MainThreadState state) {
+        state.child.startTiming().stopTiming();
+    }
+
+    @Benchmark
+    public void startStopSampled(SampledState state) {
+        state.timing.startTiming().stopTiming();
+    }
+
+    @Benchmark
+    public void startStopIfSyncOtherThread(AsyncState state) {
+        state.timing.startTimingIfSync();
+        state.timing.stopTimingIfSync();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void startStopContended(AsyncState state) {
+        state.timing.startTiming().stopTiming();
+    }
+
+}
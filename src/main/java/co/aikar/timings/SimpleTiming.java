@@ -0,0 +1,343 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package co.aikar.timings;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+import javax.annotation.Nullable;
+
+/**
+ * The {@link Timing} created by the {@link SimpleTimingsFactory}.
+ *
+ * <p>Each thread records into its own {@link Accumulator}, so starting and
+ * stopping a timing never contends with other threads. The main thread uses
+ * a dedicated accumulator found with a single thread identity check, other
+ * threads find theirs through a {@link ThreadLocal}. The factory collects
+ * the recorded data without resetting the accumulators, by remembering the
+ * values it has seen. The accumulators of threads that have terminated are
+ * dropped once their final values are collected.</p>
+ *
+ * <p>While {@link TimingsFactory#isSamplingEnabled() sampling} is enabled,
+ * the CPU time and allocated bytes of the thread are read when the timing
+ * starts and stops as well.</p>
+ */
+final class SimpleTiming implements Timing {
+
+    private final SimpleTimingsFactory factory;
+    private final String pluginId;
+    private final String name;
+    @Nullable private final SimpleTiming groupHandler;
+    private final Accumulator mainAccumulator = new Accumulator(null);
+    private final Queue<Accumulator> threadAccumulators = new ConcurrentLinkedQueue<Accumulator>();
+    private final ThreadLocal<Accumulator> accumulator = ThreadLocal.withInitial(() -> {
+        final Accumulator accumulator = new Accumulator(Thread.currentThread());
+        this.threadAccumulators.add(accumulator);
+        return accumulator;
+    });
+
+    // Guarded by the factory
+    private long count;
+    private long totalTime;
+    private long overrunCount;
+    private long overrunTime;
+    private long cpuTime;
+    private long allocatedBytes;
+
+    SimpleTiming(SimpleTimingsFactory factory, String pluginId, String name, @Nullable SimpleTiming groupHandler) {
+        this.factory = factory;
+        this.pluginId = pluginId;
+        this.name = name;
+        this.groupHandler = groupHandler;
+    }
+
+    String getPluginId() {
+        return this.pluginId;
+    }
+
+    String getName() {
+        return this.name;
+    }
+
+    private Accumulator accumulator() {
+        return Thread.currentThread() == this.factory.mainThread ? this.mainAccumulator : this.accumulator.get();
+    }
+
+    @Override
+    public Timing startTiming() {
+        if (this.factory.enabled) {
+            start(accumulator());
+        }
+        return this;
+    }
+
+    @Override
+    public void startTimingIfSync() {
+        if (Thread.currentThread() == this.factory.mainThread && this.factory.enabled) {
+            start(this.mainAccumulator);
+        }
+    }
+
+    private void start(Accumulator accumulator) {
+        if (accumulator.depth++ == 0) {
+            accumulator.sampled = this.factory.sampling;
+            if (accumulator.sampled) {
+                accumulator.startCpuTime = ThreadSampler.cpuTime();
+                accumulator.startAllocatedBytes = ThreadSampler.allocatedBytes();
+            }
+            accumulator.start = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void stopTiming() {
+        stop(accumulator());
+    }
+
+    @Override
+    public void stopTimingIfSync() {
+        if (Thread.currentThread() == this.factory.mainThread) {
+            stop(this.mainAccumulator);
+        }
+    }
+
+    private void stop(Accumulator accumulator) {
+        // Not started, the timings may have been enabled in between
+        if (accumulator.depth == 0) {
+            return;
+        }
+        if (--accumulator.depth == 0) {
+            final long duration = System.nanoTime() - accumulator.start;
+            accumulator.record(duration);
+            long cpuTime = 0;
+            long allocatedBytes = 0;
+            if (accumulator.sampled) {
+                // Unsupported measurements read -1 at both ends and record nothing
+                cpuTime = ThreadSampler.cpuTime() - accumulator.startCpuTime;
+                allocatedBytes = ThreadSampler.allocatedBytes() - accumulator.startAllocatedBytes;
+                accumulator.recordSample(cpuTime, allocatedBytes);
+            }
+            if (this.groupHandler != null) {
+                this.groupHandler.record(duration, cpuTime, allocatedBytes);
+            }
+        }
+    }
+
+    private void record(long duration, long cpuTime, long allocatedBytes) {
+        final Accumulator accumulator = accumulator();
+        accumulator.record(duration);
+        if (cpuTime != 0 || allocatedBytes != 0) {
+            accumulator.recordSample(cpuTime, allocatedBytes);
+        }
+        if (this.groupHandler != null) {
+            this.groupHandler.record(duration, cpuTime, allocatedBytes);
+        }
+    }
+
+    void recordOverrun(long overrun) {
+        accumulator().recordOverrun(overrun);
+    }
+
+    @Override
+    public void abort() {
+        accumulator().depth = 0;
+    }
+
+    @Override
+    public void close() {
+        stopTiming();
+    }
+
+    /**
+     * Adds the data recorded since the last call to the totals of this
+     * timing. Must be called while holding the lock of the factory.
+     */
+    void collect() {
+        collect(this.mainAccumulator);
+        for (Iterator<Accumulator> it = this.threadAccumulators.iterator(); it.hasNext();) {
+            final Accumulator accumulator = it.next();
+            // Checked before collecting, the termination of the thread makes
+            // all of its recorded values visible
+            final boolean terminated = accumulator.isTerminated();
+            collect(accumulator);
+            if (terminated) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Gets the number of accumulators of threads other than the main thread.
+     *
+     * @return The number of thread accumulators
+     */
+    int getThreadAccumulatorCount() {
+        return this.threadAccumulators.size();
+    }
+
+    private void collect(Accumulator accumulator) {
+        final long count = accumulator.count;
+        final long totalTime = accumulator.totalTime;
+        final long overrunCount = accumulator.overrunCount;
+        final long overrunTime = accumulator.overrunTime;
+        final long cpuTime = accumulator.cpuTime;
+        final long allocatedBytes = accumulator.allocatedBytes;
+        this.count += count - accumulator.collectedCount;
+        this.totalTime += totalTime - accumulator.collectedTotalTime;
+        this.overrunCount += overrunCount - accumulator.collectedOverrunCount;
+        this.overrunTime += overrunTime - accumulator.collectedOverrunTime;
+        this.cpuTime += cpuTime - accumulator.collectedCpuTime;
+        this.allocatedBytes += allocatedBytes - accumulator.collectedAllocatedBytes;
+        accumulator.collectedCount = count;
+        accumulator.collectedTotalTime = totalTime;
+        accumulator.collectedOverrunCount = overrunCount;
+        accumulator.collectedOverrunTime = overrunTime;
+        accumulator.collectedCpuTime = cpuTime;
+        accumulator.collectedAllocatedBytes = allocatedBytes;
+    }
+
+    /**
+     * Gets the data collected since the last call to {@link #drain()}. Must be
+     * called while holding the lock of the factory.
+     *
+     * @return The collected data, or null if nothing was recorded
+     */
+    @Nullable
+    TimingData snapshot() {
+        if (this.count == 0 && this.overrunCount == 0) {
+            return null;
+        }
+        return new TimingData(this.pluginId, this.name, this.groupHandler == null ? null : this.groupHandler.getName(),
+                this.count, this.totalTime, this.overrunCount, this.overrunTime, this.cpuTime, this.allocatedBytes);
+    }
+
+    /**
+     * Gets the data collected since the last call and starts collecting anew.
+     * Must be called while holding the lock of the factory.
+     *
+     * @return The collected data, or null if nothing was recorded
+     */
+    @Nullable
+    TimingData drain() {
+        final TimingData data = snapshot();
+        this.count = 0;
+        this.totalTime = 0;
+        this.overrunCount = 0;
+        this.overrunTime = 0;
+        this.cpuTime = 0;
+        this.allocatedBytes = 0;
+        return data;
+    }
+
+    /**
+     * Padding keeping the recorded values of an {@link Accumulator} on a
+     * cache line of their own.
+     */
+    @SuppressWarnings("unused")
+    static class LeftPadding {
+
+        long p01, p02, p03, p04, p05, p06, p07;
+
+    }
+
+    /**
+     * The values recorded by one thread. They are only written by the owning
+     * thread, using ordered stores instead of atomic updates.
+     */
+    static class Values extends LeftPadding {
+
+        static final AtomicLongFieldUpdater<Values> COUNT = AtomicLongFieldUpdater.newUpdater(Values.class, "count");
+        static final AtomicLongFieldUpdater<Values> TOTAL_TIME = AtomicLongFieldUpdater.newUpdater(Values.class, "totalTime");
+        static final AtomicLongFieldUpdater<Values> OVERRUN_COUNT = AtomicLongFieldUpdater.newUpdater(Values.class, "overrunCount");
+        static final AtomicLongFieldUpdater<Values> OVERRUN_TIME = AtomicLongFieldUpdater.newUpdater(Values.class, "overrunTime");
+        static final AtomicLongFieldUpdater<Values> CPU_TIME = AtomicLongFieldUpdater.newUpdater(Values.class, "cpuTime");
+        static final AtomicLongFieldUpdater<Values> ALLOCATED_BYTES = AtomicLongFieldUpdater.newUpdater(Values.class, "allocatedBytes");
+
+        volatile long count;
+        volatile long totalTime;
+        volatile long overrunCount;
+        volatile long overrunTime;
+        volatile long cpuTime;
+        volatile long allocatedBytes;
+        long start;
+        long startCpuTime;
+        long startAllocatedBytes;
+        int depth;
+        boolean sampled;
+
+        final void record(long duration) {
+            COUNT.lazySet(this, this.count + 1);
+            TOTAL_TIME.lazySet(this, this.totalTime + duration);
+        }
+
+        final void recordOverrun(long overrun) {
+            OVERRUN_COUNT.lazySet(this, this.overrunCount + 1);
+            OVERRUN_TIME.lazySet(this, this.overrunTime + overrun);
+        }
+
+        final void recordSample(long cpuTime, long allocatedBytes) {
+            CPU_TIME.lazySet(this, this.cpuTime + cpuTime);
+            ALLOCATED_BYTES.lazySet(this, this.allocatedBytes + allocatedBytes);
+        }
+
+    }
+
+    /**
+     * The accumulator of a single thread.
+     */
+    @SuppressWarnings("unused")
+    static final class Accumulator extends Values {
+
+        long p11, p12, p13, p14, p15, p16, p17;
+
+        // The owning thread, or null for the main accumulator
+        @Nullable private final WeakReference<Thread> owner;
+
+        // Only accessed while holding the lock of the factory
+        long collectedCount;
+        long collectedTotalTime;
+        long collectedOverrunCount;
+        long collectedOverrunTime;
+        long collectedCpuTime;
+        long collectedAllocatedBytes;
+
+        Accumulator(@Nullable Thread owner) {
+            this.owner = owner == null ? null : new WeakReference<Thread>(owner);
+        }
+
+        boolean isTerminated() {
+            if (this.owner == null) {
+                return false;
+            }
+            final Thread thread = this.owner.get();
+            return thread == null || !thread.isAlive();
+        }
+
+    }
+
+}
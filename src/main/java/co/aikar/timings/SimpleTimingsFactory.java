@@ -0,0 +1,460 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package co.aikar.timings;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import org.slf4j.Logger;
+import org.spongepowered.api.Game;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.text.Texts;
+import org.spongepowered.api.util.command.CommandSource;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+/**
+ * A simple implementation of {@link TimingsFactory}.
+ *
+ * <p>Starting and stopping a timing only reads {@link System#nanoTime()} and
+ * writes to an accumulator owned by the current thread. The recorded data is
+ * collected into a {@link TimingHistory} every
+ * {@link #getHistoryInterval() history interval}, which requires the
+ * implementation to call {@link #tick(long, TimeUnit)} at the end of every
+ * tick.</p>
+ *
+ * <p>The tick times and the history are kept in ring buffers sized by the
+ * {@link #getHistoryLength() history length}, so the memory used does not
+ * grow while the server runs.</p>
+ */
+public class SimpleTimingsFactory implements TimingsFactory {
+
+    private static final char SEPARATOR = '\u0000';
+
+    private final Game game;
+    private final Logger logger;
+    final Thread mainThread;
+    volatile boolean enabled = true;
+    volatile boolean sampling;
+    private volatile boolean verbose;
+    private final ConcurrentMap<String, SimpleTiming> timings = Maps.newConcurrentMap();
+    private final List<SimpleTiming> timingList = new ArrayList<SimpleTiming>();
+    private final Map<String, TimingData> totals = Maps.newHashMap();
+    private int historyInterval = 6000;
+    private int historyLength = 72000;
+    private int ticks;
+    private long totalTicks;
+    // The ticks during which sampling was enabled
+    private long sampledTicks;
+
+    // Ring buffer of the last historyLength tick times
+    private long[] tickTimes = new long[this.historyLength];
+    private int tickTimeCount;
+    private int tickTimeIndex;
+
+    // Ring buffer of the last historyLength / historyInterval intervals
+    private TimingHistory[] history = new TimingHistory[this.historyLength / this.historyInterval];
+    private int historyCount;
+    private int historyIndex;
+
+    @Nullable private Path exportPath;
+    private CompletableFuture<Void> export = CompletableFuture.completedFuture(null);
+
+    /**
+     * Construct a simple {@link TimingsFactory}.
+     *
+     * @param game The game to resolve plugins and the console with
+     * @param logger The logger to log export errors to
+     * @param mainThread The main thread of the server
+     */
+    public SimpleTimingsFactory(Game game, Logger logger, Thread mainThread) {
+        this.game = checkNotNull(game, "game");
+        this.logger = checkNotNull(logger, "logger");
+        this.mainThread = checkNotNull(mainThread, "mainThread");
+    }
+
+    @Override
+    public Timing of(Object plugin, String name, @Nullable Timing groupHandler) {
+        final String pluginId = getPluginId(plugin);
+        final SimpleTiming group;
+        if (groupHandler == null) {
+            group = null;
+        } else {
+            checkArgument(groupHandler instanceof SimpleTiming, "The group handler was not created by this factory");
+            group = (SimpleTiming) groupHandler;
+        }
+        final String key = group == null ? pluginId + SEPARATOR + name
+                : pluginId + SEPARATOR + name + SEPARATOR + group.getPluginId() + SEPARATOR + group.getName();
+        SimpleTiming timing = this.timings.get(key);
+        if (timing == null) {
+            synchronized (this) {
+                timing = this.timings.get(key);
+                if (timing == null) {
+                    timing = new SimpleTiming(this, pluginId, name, group);
+                    this.timingList.add(timing);
+                    this.timings.put(key, timing);
+                }
+            }
+        }
+        return timing;
+    }
+
+    private String getPluginId(Object plugin) {
+        if (plugin instanceof PluginContainer) {
+            return ((PluginContainer) plugin).getId();
+        }
+        final Optional<PluginContainer> container = this.game.getPluginManager().fromInstance(plugin);
+        if (!container.isPresent()) {
+            throw new IllegalArgumentException("The provided plugin object does not have an associated plugin container "
+                    + "(in other words, is 'plugin' actually your plugin object?)");
+        }
+        return container.get().getId();
+    }
+
+    @Override
+    public void recordOverrun(Timing timing, long overrun, TimeUnit unit) {
+        checkArgument(timing instanceof SimpleTiming, "The timing was not created by this factory");
+        if (this.enabled) {
+            ((SimpleTiming) timing).recordOverrun(unit.toNanos(overrun));
+        }
+    }
+
+    /**
+     * Counts a tick, collecting the recorded data into a new
+     * {@link TimingHistory} once a history interval has passed. Should be
+     * called at the end of every tick.
+     *
+     * @param tickTime The time the tick took
+     * @param unit The unit the tick time is in
+     */
+    public void tick(long tickTime, TimeUnit unit) {
+        synchronized (this) {
+            this.totalTicks++;
+            if (this.sampling) {
+                this.sampledTicks++;
+            }
+            this.tickTimes[this.tickTimeIndex] = unit.toNanos(tickTime);
+            this.tickTimeIndex = (this.tickTimeIndex + 1) % this.tickTimes.length;
+            this.tickTimeCount = Math.min(this.tickTimeCount + 1, this.tickTimes.length);
+            if (++this.ticks >= this.historyInterval) {
+                final ImmutableList.Builder<TimingData> data = ImmutableList.builder();
+                for (SimpleTiming timing : this.timingList) {
+                    timing.collect();
+                    final TimingData interval = timing.drain();
+                    if (interval != null) {
+                        data.add(interval);
+                        add(this.totals, interval);
+                    }
+                }
+                final TimingHistory history = new TimingHistory(System.currentTimeMillis(), this.ticks,
+                        sortedTickTimes(Math.min(this.ticks, this.tickTimeCount)), data.build());
+                this.history[this.historyIndex] = history;
+                this.historyIndex = (this.historyIndex + 1) % this.history.length;
+                this.historyCount = Math.min(this.historyCount + 1, this.history.length);
+                this.ticks = 0;
+                if (this.exportPath != null) {
+                    append(this.exportPath, history.toJson());
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the most recent tick times, sorted.
+     *
+     * @param count The number of tick times
+     * @return The sorted tick times
+     */
+    private long[] sortedTickTimes(int count) {
+        final long[] sorted = new long[count];
+        final int length = this.tickTimes.length;
+        final int start = (this.tickTimeIndex - count + length) % length;
+        final int first = Math.min(count, length - start);
+        System.arraycopy(this.tickTimes, start, sorted, 0, first);
+        System.arraycopy(this.tickTimes, 0, sorted, first, count - first);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    @Override
+    public List<TimingHistory> getHistory() {
+        synchronized (this) {
+            final ImmutableList.Builder<TimingHistory> builder = ImmutableList.builder();
+            final int length = this.history.length;
+            for (int i = this.historyCount; i > 0; i--) {
+                builder.add(this.history[(this.historyIndex - i + length) % length]);
+            }
+            return builder.build();
+        }
+    }
+
+    @Override
+    public long getTickTime(double percentile, TimeUnit unit) {
+        checkArgument(percentile >= 0 && percentile <= 100, "The percentile must be between 0 and 100");
+        final long[] sorted;
+        synchronized (this) {
+            sorted = sortedTickTimes(this.tickTimeCount);
+        }
+        return unit.convert(TimingHistory.percentile(sorted, sorted.length, percentile), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void exportHistory(Path path) throws IOException {
+        final List<TimingHistory> history = getHistory();
+        try (Writer writer = Files.newBufferedWriter(path, Charsets.UTF_8)) {
+            for (TimingHistory entry : history) {
+                writer.write(entry.toJson());
+                writer.write('\n');
+            }
+        }
+    }
+
+    /**
+     * Gets the file every new {@link TimingHistory} is appended to.
+     *
+     * @return The export file, if the history is exported
+     */
+    public Optional<Path> getExportPath() {
+        synchronized (this) {
+            return Optional.ofNullable(this.exportPath);
+        }
+    }
+
+    /**
+     * Sets the file every new {@link TimingHistory} is appended to as a line
+     * of JSON, see {@link TimingsFactory#exportHistory(Path)}. The lines are
+     * written asynchronously, in order.
+     *
+     * @param path The export file, or null to stop exporting
+     */
+    public void setExportPath(@Nullable Path path) {
+        synchronized (this) {
+            this.exportPath = path;
+        }
+    }
+
+    private void append(Path path, String line) {
+        this.export = this.export.thenRunAsync(() -> {
+            try (BufferedWriter writer = Files.newBufferedWriter(path, Charsets.UTF_8, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                writer.write(line);
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).exceptionally(e -> {
+            this.logger.error("Failed to export the timings history to " + path, e);
+            return null;
+        });
+    }
+
+    @Override
+    public boolean isTimingsEnabled() {
+        return this.enabled;
+    }
+
+    @Override
+    public void setTimingsEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean isVerboseTimingsEnabled() {
+        return this.verbose;
+    }
+
+    @Override
+    public void setVerboseTimingsEnabled(boolean enabled) {
+        this.verbose = enabled;
+    }
+
+    @Override
+    public boolean isSamplingEnabled() {
+        return this.sampling;
+    }
+
+    @Override
+    public void setSamplingEnabled(boolean enabled) {
+        if (enabled && !ThreadSampler.enable()) {
+            this.logger.warn("The JVM supports neither CPU time nor allocation measurements, timings will not be sampled");
+        }
+        this.sampling = enabled;
+    }
+
+    @Override
+    public int getHistoryInterval() {
+        synchronized (this) {
+            return this.historyInterval;
+        }
+    }
+
+    @Override
+    public void setHistoryInterval(int interval) {
+        checkArgument(interval > 0, "The history interval must be positive");
+        synchronized (this) {
+            this.historyInterval = interval;
+            resizeHistory();
+        }
+    }
+
+    @Override
+    public int getHistoryLength() {
+        synchronized (this) {
+            return this.historyLength;
+        }
+    }
+
+    @Override
+    public void setHistoryLength(int length) {
+        checkArgument(length > 0, "The history length must be positive");
+        synchronized (this) {
+            this.historyLength = length;
+            // Keep the most recent tick times
+            final int count = Math.min(this.tickTimeCount, length);
+            final long[] resized = new long[length];
+            final int previous = this.tickTimes.length;
+            final int start = (this.tickTimeIndex - count + previous) % previous;
+            for (int i = 0; i < count; i++) {
+                resized[i] = this.tickTimes[(start + i) % previous];
+            }
+            this.tickTimes = resized;
+            this.tickTimeCount = count;
+            this.tickTimeIndex = count % length;
+            resizeHistory();
+        }
+    }
+
+    private void resizeHistory() {
+        final List<TimingHistory> history = getHistory();
+        final int length = Math.max(1, this.historyLength / this.historyInterval);
+        final int count = Math.min(history.size(), length);
+        this.history = new TimingHistory[length];
+        for (int i = 0; i < count; i++) {
+            this.history[i] = history.get(history.size() - count + i);
+        }
+        this.historyCount = count;
+        this.historyIndex = count % length;
+    }
+
+    @Override
+    public void reset() {
+        synchronized (this) {
+            for (SimpleTiming timing : this.timingList) {
+                timing.collect();
+                timing.drain();
+            }
+            Arrays.fill(this.history, null);
+            this.historyCount = 0;
+            this.historyIndex = 0;
+            this.tickTimeCount = 0;
+            this.tickTimeIndex = 0;
+            this.totals.clear();
+            this.ticks = 0;
+            this.totalTicks = 0;
+            this.sampledTicks = 0;
+        }
+    }
+
+    @Override
+    public void generateReport(@Nullable CommandSource source) {
+        if (source == null) {
+            source = this.game.getServer().getConsole();
+        }
+        final List<TimingData> report;
+        final long ticks;
+        final long sampledTicks;
+        final long medianTickTime = getTickTime(50, TimeUnit.MICROSECONDS);
+        final long tickTime99 = getTickTime(99, TimeUnit.MICROSECONDS);
+        synchronized (this) {
+            final Map<String, TimingData> totals = Maps.newHashMap(this.totals);
+            for (SimpleTiming timing : this.timingList) {
+                timing.collect();
+                // Include the data of the current history interval
+                final TimingData interval = timing.snapshot();
+                if (interval != null) {
+                    add(totals, interval);
+                }
+            }
+            report = new ArrayList<TimingData>(totals.values());
+            ticks = this.totalTicks;
+            sampledTicks = Math.max(1, this.sampledTicks);
+        }
+        report.sort(Comparator.comparingLong((TimingData data) -> data.getTotalTime(TimeUnit.NANOSECONDS)).reversed());
+
+        source.sendMessage(Texts.of("Timings report over ", ticks, " ticks:"));
+        source.sendMessage(Texts.of(String.format("Tick time - median: %.2f ms, 99th percentile: %.2f ms",
+                medianTickTime / 1000.0, tickTime99 / 1000.0)));
+        for (TimingData data : report) {
+            source.sendMessage(Texts.of(String.format("%s %s - count: %d, total: %.2f ms, avg: %.4f ms, overruns: %d",
+                    data.getPluginId(), data.getName(), data.getCount(), data.getTotalTime(TimeUnit.MICROSECONDS) / 1000.0,
+                    data.getAverageTime(TimeUnit.MILLISECONDS), data.getOverrunCount())));
+        }
+
+        report.removeIf(data -> data.getAllocatedBytes() <= 0 && data.getCpuTime(TimeUnit.NANOSECONDS) <= 0);
+        if (report.isEmpty()) {
+            return;
+        }
+        report.sort(Comparator.comparingLong(TimingData::getAllocatedBytes).reversed());
+        source.sendMessage(Texts.of("Allocations per tick while sampling:"));
+        for (TimingData data : report) {
+            source.sendMessage(Texts.of(String.format("%s %s - allocated: %d KiB/tick, cpu: %.4f ms/tick",
+                    data.getPluginId(), data.getName(), data.getAllocatedBytes() / sampledTicks / 1024,
+                    data.getCpuTime(TimeUnit.NANOSECONDS) / (double) sampledTicks / 1000000)));
+        }
+    }
+
+    private static void add(Map<String, TimingData> totals, TimingData data) {
+        final String group = data.getGroupName().orElse("");
+        totals.merge(data.getPluginId() + SEPARATOR + data.getName() + SEPARATOR + group, data, SimpleTimingsFactory::add);
+    }
+
+    private static TimingData add(TimingData a, TimingData b) {
+        return new TimingData(a.getPluginId(), a.getName(), a.getGroupName().orElse(null), a.getCount() + b.getCount(),
+                a.getTotalTime(TimeUnit.NANOSECONDS) + b.getTotalTime(TimeUnit.NANOSECONDS),
+                a.getOverrunCount() + b.getOverrunCount(), a.getOverrunTime(TimeUnit.NANOSECONDS) + b.getOverrunTime(TimeUnit.NANOSECONDS),
+                a.getCpuTime(TimeUnit.NANOSECONDS) + b.getCpuTime(TimeUnit.NANOSECONDS), a.getAllocatedBytes() + b.getAllocatedBytes());
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package co.aikar.timings;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Reads the CPU time and allocated bytes of the current thread, for the
+ * sampling mode of the {@link SimpleTimingsFactory}.
+ */
+final class ThreadSampler {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    @SuppressWarnings("restriction")
+    private static final com.sun.management.ThreadMXBean ALLOCATIONS =
+            THREADS instanceof com.sun.management.ThreadMXBean ? (com.sun.management.ThreadMXBean) THREADS : null;
+
+    private ThreadSampler() {
+    }
+
+    /**
+     * Turns on the measurements of the JVM, which are not always enabled by
+     * default.
+     *
+     * @return Whether any of the measurements are supported
+     */
+    @SuppressWarnings("restriction")
+    static boolean enable() {
+        boolean supported = false;
+        if (THREADS.isCurrentThreadCpuTimeSupported()) {
+            THREADS.setThreadCpuTimeEnabled(true);
+            supported = true;
+        }
+        if (ALLOCATIONS != null && ALLOCATIONS.isThreadAllocatedMemorySupported()) {
+            ALLOCATIONS.setThreadAllocatedMemoryEnabled(true);
+            supported = true;
+        }
+        return supported;
+    }
+
+    /**
+     * Gets the CPU time used by the current thread.
+     *
+     * @return The CPU time in nanoseconds, or -1 if not supported
+     */
+    static long cpuTime() {
+        return THREADS.getCurrentThreadCpuTime();
+    }
+
+    /**
+     * Gets the bytes allocated by the current thread.
+     *
+     * @return The allocated bytes, or -1 if not supported
+     */
+    @SuppressWarnings("restriction")
+    static long allocatedBytes() {
+        return ALLOCATIONS == null ? -1 : ALLOCATIONS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+}
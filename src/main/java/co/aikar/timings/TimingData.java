@@ -0,0 +1,178 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package co.aikar.timings;
+
+import com.google.common.base.Objects;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+/**
+ * The data recorded by a single {@link Timing} over a period of time.
+ */
+public final class TimingData {
+
+    private final String pluginId;
+    private final String name;
+    @Nullable private final String groupName;
+    private final long count;
+    private final long totalTime;
+    private final long overrunCount;
+    private final long overrunTime;
+    private final long cpuTime;
+    private final long allocatedBytes;
+
+    TimingData(String pluginId, String name, @Nullable String groupName, long count, long totalTime, long overrunCount, long overrunTime,
+            long cpuTime, long allocatedBytes) {
+        this.pluginId = pluginId;
+        this.name = name;
+        this.groupName = groupName;
+        this.count = count;
+        this.totalTime = totalTime;
+        this.overrunCount = overrunCount;
+        this.overrunTime = overrunTime;
+        this.cpuTime = cpuTime;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    /**
+     * Gets the id of the plugin owning the timing.
+     *
+     * @return The plugin id
+     */
+    public String getPluginId() {
+        return this.pluginId;
+    }
+
+    /**
+     * Gets the name of the timing.
+     *
+     * @return The name
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Gets the name of the group handler of the timing. Implementations group
+     * the timings of event listeners and scheduled tasks, which allows
+     * breaking the data down by event or task.
+     *
+     * @return The name of the group handler, if the timing has one
+     */
+    public Optional<String> getGroupName() {
+        return Optional.ofNullable(this.groupName);
+    }
+
+    /**
+     * Gets the number of times the timed section was executed.
+     *
+     * @return The number of executions
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * Gets the time all executions of the timed section took together.
+     *
+     * @param unit The unit to return the time in
+     * @return The total time
+     */
+    public long getTotalTime(TimeUnit unit) {
+        return unit.convert(this.totalTime, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the time a single execution of the timed section took on
+     * average.
+     *
+     * @param unit The unit to return the time in
+     * @return The average time, or 0 if the section was not executed
+     */
+    public double getAverageTime(TimeUnit unit) {
+        return this.count == 0 ? 0 : (double) this.totalTime / this.count / TimeUnit.NANOSECONDS.convert(1, unit);
+    }
+
+    /**
+     * Gets the number of executions which exceeded their budget, see
+     * {@link Timings#recordOverrun}.
+     *
+     * @return The number of overruns
+     */
+    public long getOverrunCount() {
+        return this.overrunCount;
+    }
+
+    /**
+     * Gets the time the executions exceeded their budget by together.
+     *
+     * @param unit The unit to return the time in
+     * @return The total overrun time
+     */
+    public long getOverrunTime(TimeUnit unit) {
+        return unit.convert(this.overrunTime, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the CPU time the thread spent in the timed section. Only recorded
+     * while {@link TimingsFactory#isSamplingEnabled() sampling} is enabled.
+     *
+     * @param unit The unit to return the time in
+     * @return The CPU time
+     */
+    public long getCpuTime(TimeUnit unit) {
+        return unit.convert(this.cpuTime, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the number of bytes the thread allocated in the timed section.
+     * Only recorded while {@link TimingsFactory#isSamplingEnabled() sampling}
+     * is enabled.
+     *
+     * @return The allocated bytes
+     */
+    public long getAllocatedBytes() {
+        return this.allocatedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return Objects.toStringHelper(this)
+                .add("pluginId", this.pluginId)
+                .add("name", this.name)
+                .add("groupName", this.groupName)
+                .add("count", this.count)
+                .add("totalTime", this.totalTime)
+                .add("overrunCount", this.overrunCount)
+                .add("overrunTime", this.overrunTime)
+                .add("cpuTime", this.cpuTime)
+                .add("allocatedBytes", this.allocatedBytes)
+                .toString();
+    }
+
+}
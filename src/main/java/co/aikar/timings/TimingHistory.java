@@ -0,0 +1,246 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package co.aikar.timings;
+
+import com.google.common.base.Objects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A snapshot of the data recorded by all {@link Timing}s during one history
+ * interval, see {@link TimingsFactory#getHistoryInterval()}.
+ */
+public final class TimingHistory {
+
+    private final long timestamp;
+    private final int ticks;
+    private final long medianTickTime;
+    private final long tickTime95;
+    private final long tickTime99;
+    private final long maxTickTime;
+    private final ImmutableList<TimingData> data;
+
+    TimingHistory(long timestamp, int ticks, long[] sortedTickTimes, ImmutableList<TimingData> data) {
+        this.timestamp = timestamp;
+        this.ticks = ticks;
+        this.medianTickTime = percentile(sortedTickTimes, sortedTickTimes.length, 50);
+        this.tickTime95 = percentile(sortedTickTimes, sortedTickTimes.length, 95);
+        this.tickTime99 = percentile(sortedTickTimes, sortedTickTimes.length, 99);
+        this.maxTickTime = percentile(sortedTickTimes, sortedTickTimes.length, 100);
+        this.data = data;
+    }
+
+    /**
+     * Gets the given percentile of the first values of a sorted array, using
+     * the nearest rank.
+     *
+     * @param sorted The sorted values
+     * @param length The number of values to use
+     * @param percentile The percentile, between 0 and 100
+     * @return The percentile, or 0 if there are no values
+     */
+    static long percentile(long[] sorted, int length, double percentile) {
+        if (length == 0) {
+            return 0;
+        }
+        final int rank = (int) Math.ceil(percentile / 100 * length);
+        return sorted[Math.min(length, Math.max(1, rank)) - 1];
+    }
+
+    /**
+     * Gets the time the interval ended at, in milliseconds since the epoch.
+     *
+     * @return The end of the interval
+     */
+    public long getTimestamp() {
+        return this.timestamp;
+    }
+
+    /**
+     * Gets the number of ticks in the interval.
+     *
+     * @return The number of ticks
+     */
+    public int getTicks() {
+        return this.ticks;
+    }
+
+    /**
+     * Gets the median time a tick took during the interval.
+     *
+     * @param unit The unit to return the time in
+     * @return The median tick time
+     */
+    public long getMedianTickTime(TimeUnit unit) {
+        return unit.convert(this.medianTickTime, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the time 95% of the ticks during the interval took at most.
+     *
+     * @param unit The unit to return the time in
+     * @return The 95th percentile of the tick time
+     */
+    public long get95thPercentileTickTime(TimeUnit unit) {
+        return unit.convert(this.tickTime95, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the time 99% of the ticks during the interval took at most.
+     *
+     * @param unit The unit to return the time in
+     * @return The 99th percentile of the tick time
+     */
+    public long get99thPercentileTickTime(TimeUnit unit) {
+        return unit.convert(this.tickTime99, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the time the longest tick during the interval took.
+     *
+     * @param unit The unit to return the time in
+     * @return The longest tick time
+     */
+    public long getMaxTickTime(TimeUnit unit) {
+        return unit.convert(this.maxTickTime, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the data of the timings which were executed during the interval.
+     *
+     * @return The timing data
+     */
+    public List<TimingData> getData() {
+        return this.data;
+    }
+
+    /**
+     * Gets the data of the timings with the given group handler, such as the
+     * individual event listeners or tasks.
+     *
+     * @param groupName The name of the group handler
+     * @return The timing data of the group
+     */
+    public List<TimingData> getData(String groupName) {
+        final ImmutableList.Builder<TimingData> builder = ImmutableList.builder();
+        final Optional<String> group = Optional.of(groupName);
+        for (TimingData data : this.data) {
+            if (data.getGroupName().equals(group)) {
+                builder.add(data);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Gets the time the timings of each plugin took during the interval.
+     * Only timings without a group handler are included, as grouped timings
+     * are already part of the time of their group handler.
+     *
+     * @param unit The unit to return the times in
+     * @return The times by plugin id
+     */
+    public Map<String, Long> getPluginTimes(TimeUnit unit) {
+        final Map<String, Long> times = Maps.newHashMap();
+        for (TimingData data : this.data) {
+            if (!data.getGroupName().isPresent()) {
+                times.merge(data.getPluginId(), data.getTotalTime(TimeUnit.NANOSECONDS), Long::sum);
+            }
+        }
+        final ImmutableMap.Builder<String, Long> builder = ImmutableMap.builder();
+        for (Map.Entry<String, Long> entry : times.entrySet()) {
+            builder.put(entry.getKey(), unit.convert(entry.getValue(), TimeUnit.NANOSECONDS));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Writes this history as a single line of JSON, with all times in
+     * nanoseconds.
+     *
+     * @return The JSON line, without a line separator
+     */
+    String toJson() {
+        final StringWriter out = new StringWriter();
+        try (JsonWriter json = new JsonWriter(out)) {
+            json.beginObject();
+            json.name("timestamp").value(this.timestamp);
+            json.name("ticks").value(this.ticks);
+            json.name("tickTime").beginObject()
+                    .name("p50").value(this.medianTickTime)
+                    .name("p95").value(this.tickTime95)
+                    .name("p99").value(this.tickTime99)
+                    .name("max").value(this.maxTickTime)
+                    .endObject();
+            json.name("timings").beginArray();
+            for (TimingData data : this.data) {
+                json.beginObject();
+                json.name("plugin").value(data.getPluginId());
+                json.name("name").value(data.getName());
+                if (data.getGroupName().isPresent()) {
+                    json.name("group").value(data.getGroupName().get());
+                }
+                json.name("count").value(data.getCount());
+                json.name("time").value(data.getTotalTime(TimeUnit.NANOSECONDS));
+                if (data.getOverrunCount() != 0) {
+                    json.name("overruns").value(data.getOverrunCount());
+                    json.name("overrunTime").value(data.getOverrunTime(TimeUnit.NANOSECONDS));
+                }
+                if (data.getCpuTime(TimeUnit.NANOSECONDS) != 0 || data.getAllocatedBytes() != 0) {
+                    json.name("cpuTime").value(data.getCpuTime(TimeUnit.NANOSECONDS));
+                    json.name("allocatedBytes").value(data.getAllocatedBytes());
+                }
+                json.endObject();
+            }
+            json.endArray();
+            json.endObject();
+        } catch (IOException e) {
+            // A StringWriter does not throw
+            throw new AssertionError(e);
+        }
+        return out.toString();
+    }
+
+    @Override
+    public String toString() {
+        return Objects.toStringHelper(this)
+                .add("timestamp", this.timestamp)
+                .add("ticks", this.ticks)
+                .add("medianTickTime", this.medianTickTime)
+                .add("maxTickTime", this.maxTickTime)
+                .add("data", this.data)
+                .toString();
+    }
+
+}
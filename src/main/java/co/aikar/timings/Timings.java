@@ -29,6 +29,11 @@
 import org.spongepowered.api.util.command.CommandSource;
 import org.spongepowered.api.util.command.source.ConsoleSource;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 import javax.annotation.Nullable;
 
 /**
@@ -110,6 +115,20 @@ public static Timing ofStart(Object plugin, String name, Timing groupHandler) {
         return timing;
     }
 
+    /**
+     * Records that a single execution of the section measured by the given
+     * timing took longer than its budget, such as a scheduled task exceeding
+     * its {@link org.spongepowered.api.service.scheduler.TaskBuilder#budget
+     * budget}. Overruns are listed in the timings report.
+     *
+     * @param timing The timing of the section
+     * @param overrun The time the execution exceeded its budget by
+     * @param unit The unit the overrun is in
+     */
+    public static void recordOverrun(Timing timing, long overrun, TimeUnit unit) {
+        factory.recordOverrun(checkNotNull(timing, "timing"), overrun, checkNotNull(unit, "unit"));
+    }
+
     /**
      * Gets whether or not the timings system is enabled.
      *
@@ -150,6 +169,27 @@ public static void setVerboseTimingsEnabled(boolean enabled) {
         factory.setVerboseTimingsEnabled(enabled);
     }
 
+    /**
+     * Gets whether the CPU time and allocated bytes of timed sections are
+     * sampled.
+     *
+     * @return Whether sampling is enabled
+     */
+    public static boolean isSamplingEnabled() {
+        return factory.isSamplingEnabled();
+    }
+
+    /**
+     * Sets whether the CPU time and allocated bytes of timed sections are
+     * sampled. Sampling adds overhead to every timing, so it is meant to be
+     * enabled while tracking down lag spikes.
+     *
+     * @param enabled Whether sampling should be enabled
+     */
+    public static void setSamplingEnabled(boolean enabled) {
+        factory.setSamplingEnabled(enabled);
+    }
+
     /**
      * Gets the interval between timing history report generation.
      *
@@ -195,6 +235,38 @@ public static void setHistoryLength(int length) {
         factory.setHistoryLength(length);
     }
 
+    /**
+     * Gets the history of the timing data, oldest first.
+     *
+     * @return The timing history
+     */
+    public static List<TimingHistory> getHistory() {
+        return factory.getHistory();
+    }
+
+    /**
+     * Gets the given percentile of the tick times within the history length,
+     * such as 50 for the median tick time.
+     *
+     * @param percentile The percentile, between 0 and 100
+     * @param unit The unit to return the time in
+     * @return The tick time at the percentile
+     */
+    public static long getTickTime(double percentile, TimeUnit unit) {
+        return factory.getTickTime(percentile, checkNotNull(unit, "unit"));
+    }
+
+    /**
+     * Writes the history to the given file, one entry per line as a JSON
+     * object.
+     *
+     * @param path The file to write to
+     * @throws IOException If the file could not be written
+     */
+    public static void exportHistory(Path path) throws IOException {
+        factory.exportHistory(checkNotNull(path, "path"));
+    }
+
     /**
      * Resets all timing data.
      */
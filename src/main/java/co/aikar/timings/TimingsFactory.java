@@ -26,6 +26,11 @@
 
 import org.spongepowered.api.util.command.CommandSource;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 import javax.annotation.Nullable;
 
 /**
@@ -43,6 +48,16 @@ public interface TimingsFactory {
      */
     Timing of(Object plugin, String name, @Nullable Timing groupHandler);
 
+    /**
+     * Records an execution of the section measured by the given timing which
+     * exceeded its budget.
+     *
+     * @param timing The timing of the section
+     * @param overrun The time the execution exceeded its budget by
+     * @param unit The unit the overrun is in
+     */
+    void recordOverrun(Timing timing, long overrun, TimeUnit unit);
+
     /**
      * Gets whether the timing system is enabled.
      *
@@ -71,6 +86,24 @@ public interface TimingsFactory {
      */
     void setVerboseTimingsEnabled(boolean enabled);
 
+    /**
+     * Gets whether sampling is enabled. While enabled, timings also record the
+     * CPU time and allocated bytes of the thread they are started on, which
+     * adds overhead to starting and stopping them.
+     *
+     * @return Whether sampling is enabled
+     */
+    boolean isSamplingEnabled();
+
+    /**
+     * Sets whether sampling is enabled. Measurements the JVM does not support
+     * are recorded as 0.
+     *
+     * @param enabled Is enabled
+     * @see #isSamplingEnabled()
+     */
+    void setSamplingEnabled(boolean enabled);
+
     /**
      * Gets the history interval.
      *
@@ -99,6 +132,35 @@ public interface TimingsFactory {
      */
     void setHistoryLength(int length);
 
+    /**
+     * Gets the history of the timing data, oldest first. Every entry covers
+     * one history interval, entries older than the history length are
+     * discarded.
+     *
+     * @return The timing history
+     */
+    List<TimingHistory> getHistory();
+
+    /**
+     * Gets the given percentile of the tick times within the history length.
+     *
+     * @param percentile The percentile, between 0 and 100
+     * @param unit The unit to return the time in
+     * @return The tick time at the percentile, or 0 if no ticks were recorded
+     * @throws IllegalArgumentException If the percentile is not between 0 and
+     *         100
+     */
+    long getTickTime(double percentile, TimeUnit unit);
+
+    /**
+     * Writes the history to the given file, one entry per line as a JSON
+     * object with all times in nanoseconds.
+     *
+     * @param path The file to write to
+     * @throws IOException If the file could not be written
+     */
+    void exportHistory(Path path) throws IOException;
+
     /**
      * Resets the timing data.
      */
@@ -34,6 +34,7 @@
 import org.spongepowered.api.resourcepack.ResourcePack;
 import org.spongepowered.api.scoreboard.Scoreboard;
 import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.sink.EncodedMessageReceiver;
 import org.spongepowered.api.util.command.source.LocatedSource;
 import org.spongepowered.api.util.command.source.RemoteSource;
 
@@ -48,7 +49,7 @@
  * <p>Any methods called on Player that are not on User do not store any data
  * that persists across server restarts.</p>
  */
-public interface Player extends Human, User, LocatedSource, RemoteSource, Viewer {
+public interface Player extends Human, User, LocatedSource, RemoteSource, Viewer, EncodedMessageReceiver {
 
     /**
      * Gets the locale used by the player.
@@ -28,6 +28,7 @@
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.plugin.PluginContainer;
 
+import java.util.Collection;
 import java.util.function.Consumer;
 
 /**
@@ -73,6 +74,13 @@ interface IndexedMessageChannel extends ChannelBinding {
          * sent and received across the network, it is a single byte and thus
          * has a range of 0 to 255.</p>
          *
+         * <p>Received messages with fields annotated with
+         * {@link org.spongepowered.api.network.codec.MessageField} are created
+         * using {@link org.spongepowered.api.network.codec.MessageCodec#newInstance()}
+         * of their codec, which calls the constructor directly. Other messages
+         * implement {@link Message#readFrom(ChannelBuf)} themselves and are
+         * still created through their no-args constructor.</p>
+         *
          * @param messageClass The class of the message being registered. Note:
          *        the class must have a publicly accessible no-args constructor
          * @param messageId A unique ID for this message
@@ -111,6 +119,26 @@ interface IndexedMessageChannel extends ChannelBinding {
          */
         void sendTo(Player player, Message message);
 
+        /**
+         * Gets whether messages sent over this channel are batched until the
+         * end of the tick.
+         *
+         * @return True if this channel is batched
+         * @see ChannelRegistrar#createBatchedChannel(Object, String)
+         */
+        boolean isBatched();
+
+        /**
+         * Sends the message to all given players across this channel. The
+         * message is only encoded once and the encoded content is shared
+         * between all players. The message may not be sent to players that
+         * don't have a registered handler.
+         *
+         * @param players The players to send the message to
+         * @param message The message to send
+         */
+        void sendTo(Collection<? extends Player> players, Message message);
+
         /**
          * Sends the message to the server. The message may not be sent if there
          * is no registered handler. This <strong>must</strong> be called from
@@ -121,7 +149,8 @@ interface IndexedMessageChannel extends ChannelBinding {
         void sendToServer(Message message);
 
         /**
-         * Sends the message to all players on the server.
+         * Sends the message to all players on the server. The message is only
+         * encoded once and the encoded content is shared between all players.
          *
          * @param message The message to send
          */
@@ -166,6 +195,17 @@ interface RawDataChannel extends ChannelBinding {
          */
         void sendTo(Player player, Consumer<ChannelBuf> payload);
 
+        /**
+         * Sends the raw payload to all given players across this channel. The
+         * payload is written once into a pooled buffer, and every player is
+         * sent a retained read-only slice of it. The data may not be sent to
+         * players that don't have a registered handler.
+         *
+         * @param players The players to send the message to
+         * @param payload A consumer to write the data to
+         */
+        void sendTo(Collection<? extends Player> players, Consumer<ChannelBuf> payload);
+
         /**
          * Sends the raw payload to the server. The data may not be sent if
          * there is no registered handler. This <strong>must</strong> be called
@@ -176,7 +216,8 @@ interface RawDataChannel extends ChannelBinding {
         void sendToServer(Consumer<ChannelBuf> payload);
 
         /**
-         * Sends the raw payload to all players on the server.
+         * Sends the raw payload to all players on the server. The payload is
+         * only written once, see {@link #sendTo(Collection, Consumer)}.
          *
          * @param payload A consumer to write the data to
          */
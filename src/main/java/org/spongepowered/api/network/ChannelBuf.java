@@ -27,6 +27,7 @@
 import org.spongepowered.api.data.DataView;
 
 import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 
 /**
@@ -508,6 +509,246 @@ public interface ChannelBuf {
      */
     String getString(int index);
 
+    /**
+     * Sets the specified string, encoded as UTF-8 and prefixed with its length
+     * in bytes as a VarInt, at the current writerIndex and increases the
+     * writerIndex by the number of bytes written.
+     *
+     * @param data The string data
+     * @return This stream for chaining
+     */
+    default ChannelBuf writeUTF(String data) {
+        final byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length);
+        return writeBytes(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Gets a string written by {@link #writeUTF(String)} at the current
+     * readerIndex and increases the readerIndex by the number of bytes read.
+     *
+     * @return The string
+     */
+    default String readUTF() {
+        final int length = readVarInt();
+        if (length < 0 || length > available()) {
+            throw new IllegalStateException("Invalid string length " + length);
+        }
+        final byte[] bytes = new byte[length];
+        readBytes(bytes, 0, length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Sets the specified integer as a VarInt at the current writerIndex and
+     * increases the writerIndex by the number of bytes written, between 1 and
+     * 5. Small non-negative values take fewer bytes.
+     *
+     * @param data The integer data
+     * @return This stream for chaining
+     */
+    default ChannelBuf writeVarInt(int data) {
+        while ((data & ~0x7F) != 0) {
+            writeByte((byte) ((data & 0x7F) | 0x80));
+            data >>>= 7;
+        }
+        return writeByte((byte) data);
+    }
+
+    /**
+     * Gets a VarInt at the current readerIndex and increases the readerIndex
+     * by the number of bytes read.
+     *
+     * @return The integer
+     */
+    default int readVarInt() {
+        int result = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            final byte b = readByte();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalStateException("VarInt is too long");
+    }
+
+    /**
+     * Sets the specified long as a VarLong at the current writerIndex and
+     * increases the writerIndex by the number of bytes written, between 1 and
+     * 10. Small non-negative values take fewer bytes.
+     *
+     * @param data The long data
+     * @return This stream for chaining
+     */
+    default ChannelBuf writeVarLong(long data) {
+        while ((data & ~0x7FL) != 0) {
+            writeByte((byte) ((data & 0x7F) | 0x80));
+            data >>>= 7;
+        }
+        return writeByte((byte) data);
+    }
+
+    /**
+     * Gets a VarLong at the current readerIndex and increases the readerIndex
+     * by the number of bytes read.
+     *
+     * @return The long
+     */
+    default long readVarLong() {
+        long result = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            final byte b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalStateException("VarLong is too long");
+    }
+
+    /**
+     * Sets the specified range of bytes at the current writerIndex and
+     * increases the writerIndex by the length of the range.
+     *
+     * <p>Implementations should override the bulk methods to copy the data
+     * into the backing buffer directly.</p>
+     *
+     * @param data The byte data
+     * @param offset The index of the first byte to write
+     * @param length The number of bytes to write
+     * @return This stream for chaining
+     */
+    default ChannelBuf writeBytes(byte[] data, int offset, int length) {
+        // Compared without adding, offset + length may overflow
+        if (offset < 0 || length < 0 || offset > data.length - length) {
+            throw new IndexOutOfBoundsException("Range of length " + length + " at " + offset + " is out of bounds for length " + data.length);
+        }
+        for (int i = offset; i < offset + length; i++) {
+            writeByte(data[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Gets bytes at the current readerIndex into the specified range of the
+     * given array and increases the readerIndex by the length of the range.
+     *
+     * @param dst The array to read into
+     * @param offset The index of the first byte to read into
+     * @param length The number of bytes to read
+     * @return This stream for chaining
+     */
+    default ChannelBuf readBytes(byte[] dst, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > dst.length - length) {
+            throw new IndexOutOfBoundsException("Range of length " + length + " at " + offset + " is out of bounds for length " + dst.length);
+        }
+        for (int i = offset; i < offset + length; i++) {
+            dst[i] = readByte();
+        }
+        return this;
+    }
+
+    /**
+     * Sets all specified integers at the current writerIndex and increases
+     * the writerIndex by 4 times the number of integers.
+     *
+     * @param data The integer data
+     * @return This stream for chaining
+     */
+    default ChannelBuf writeIntegers(int[] data) {
+        return writeIntegers(data, 0, data.length);
+    }
+
+    /**
+     * Sets the specified range of integers at the current writerIndex and
+     * increases the writerIndex by 4 times the length of the range.
+     *
+     * @param data The integer data
+     * @param offset The index of the first integer to write
+     * @param length The number of integers to write
+     * @return This stream for chaining
+     */
+    default ChannelBuf writeIntegers(int[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > data.length - length) {
+            throw new IndexOutOfBoundsException("Range of length " + length + " at " + offset + " is out of bounds for length " + data.length);
+        }
+        for (int i = offset; i < offset + length; i++) {
+            writeInteger(data[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Gets integers at the current readerIndex into the specified range of
+     * the given array and increases the readerIndex by 4 times the length of
+     * the range.
+     *
+     * @param dst The array to read into
+     * @param offset The index of the first integer to read into
+     * @param length The number of integers to read
+     * @return This stream for chaining
+     */
+    default ChannelBuf readIntegers(int[] dst, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > dst.length - length) {
+            throw new IndexOutOfBoundsException("Range of length " + length + " at " + offset + " is out of bounds for length " + dst.length);
+        }
+        for (int i = offset; i < offset + length; i++) {
+            dst[i] = readInteger();
+        }
+        return this;
+    }
+
+    /**
+     * Sets all specified longs at the current writerIndex and increases the
+     * writerIndex by 8 times the number of longs.
+     *
+     * @param data The long data
+     * @return This stream for chaining
+     */
+    default ChannelBuf writeLongs(long[] data) {
+        return writeLongs(data, 0, data.length);
+    }
+
+    /**
+     * Sets the specified range of longs at the current writerIndex and
+     * increases the writerIndex by 8 times the length of the range.
+     *
+     * @param data The long data
+     * @param offset The index of the first long to write
+     * @param length The number of longs to write
+     * @return This stream for chaining
+     */
+    default ChannelBuf writeLongs(long[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > data.length - length) {
+            throw new IndexOutOfBoundsException("Range of length " + length + " at " + offset + " is out of bounds for length " + data.length);
+        }
+        for (int i = offset; i < offset + length; i++) {
+            writeLong(data[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Gets longs at the current readerIndex into the specified range of the
+     * given array and increases the readerIndex by 8 times the length of the
+     * range.
+     *
+     * @param dst The array to read into
+     * @param offset The index of the first long to read into
+     * @param length The number of longs to read
+     * @return This stream for chaining
+     */
+    default ChannelBuf readLongs(long[] dst, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > dst.length - length) {
+            throw new IndexOutOfBoundsException("Range of length " + length + " at " + offset + " is out of bounds for length " + dst.length);
+        }
+        for (int i = offset; i < offset + length; i++) {
+            dst[i] = readLong();
+        }
+        return this;
+    }
+
     /**
      * Sets the specified {@link UUID} at the current writerIndex and
      * increases the writerIndex by 16 in this buffer.
@@ -0,0 +1,55 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.network;
+
+/**
+ * Allocates {@link PooledChannelBuf}s from a shared pool.
+ *
+ * <p>Buffers are allocated in size classes, so a released buffer can be reused
+ * for any later request of a similar size. Direct buffers are backed by memory
+ * outside the Java heap, which can be written to the network without being
+ * copied first.</p>
+ */
+public interface ChannelBufAllocator {
+
+    /**
+     * Allocates a new pooled buffer with the given initial capacity, which
+     * grows as needed. The buffer is direct if the platform supports it.
+     *
+     * @param initialCapacity The initial capacity of the buffer in bytes
+     * @return The allocated buffer with a reference count of one
+     */
+    PooledChannelBuf buffer(int initialCapacity);
+
+    /**
+     * Allocates a new pooled buffer stored on the Java heap, with the given
+     * initial capacity, which grows as needed.
+     *
+     * @param initialCapacity The initial capacity of the buffer in bytes
+     * @return The allocated buffer with a reference count of one
+     */
+    PooledChannelBuf heapBuffer(int initialCapacity);
+
+}
@@ -46,6 +46,25 @@ public interface ChannelRegistrar {
      */
     ChannelBinding.IndexedMessageChannel createChannel(Object plugin, String channel) throws ChannelRegistrationException;
 
+    /**
+     * Creates a new batched channel binding for the given channel name.
+     *
+     * <p>Messages sent over a batched channel are not sent immediately.
+     * Instead they are collected in a {@link MessageBatch} per player and
+     * sent as a single payload at the end of the tick, which is split again
+     * before the messages are handed to their handlers. Messages implementing
+     * {@link CoalescingMessage} replace earlier messages with the same key in
+     * the same batch.</p>
+     *
+     * @param plugin The plugin registering the channel
+     * @param channel The channel to register
+     * @return A new {@link ChannelBinding} instance bound to the channel name
+     * @throws ChannelRegistrationException The channel name is too long
+     * @throws ChannelRegistrationException The channel name is reserved
+     * @see #createChannel
+     */
+    ChannelBinding.IndexedMessageChannel createBatchedChannel(Object plugin, String channel) throws ChannelRegistrationException;
+
     /**
      * Creates a new raw channel binding. The channel can be used to send and
      * Receive data from {@link ChannelBuf} objects.
@@ -85,4 +104,12 @@ public interface ChannelRegistrar {
      */
     boolean isChannelAvailable(String channelName);
 
+    /**
+     * Gets the allocator for the buffers used by the channels of this
+     * registrar.
+     *
+     * @return The buffer allocator
+     */
+    ChannelBufAllocator getBufferAllocator();
+
 }
@@ -24,11 +24,21 @@
  */
 package org.spongepowered.api.network;
 
+import org.spongepowered.api.network.codec.MessageCodecs;
+import org.spongepowered.api.network.codec.MessageField;
+
 /**
  * A message transmitted over the connection of a client and a server.
  *
  * <p>Note to plugin implementations: This must have a publicly accessible
  * no-args constructor.</p>
+ *
+ * <p>Instead of implementing {@link #readFrom(ChannelBuf)} and
+ * {@link #writeTo(ChannelBuf)}, messages can annotate their fields with
+ * {@link MessageField}, which are then read and written by a generated
+ * codec, see {@link MessageCodecs}. Messages without annotated fields must
+ * implement both methods, otherwise they fail with an
+ * {@link IllegalArgumentException}.</p>
  */
 public interface Message {
 
@@ -37,13 +47,19 @@ public interface Message {
      *
      * @param buf The buffer to read from
      */
-    void readFrom(ChannelBuf buf);
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    default void readFrom(ChannelBuf buf) {
+        MessageCodecs.getCodec((Class) getClass()).read(this, buf);
+    }
 
     /**
      * Write the data from this message to the channel buffer.
      *
      * @param buf The buffer to write to
      */
-    void writeTo(ChannelBuf buf);
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    default void writeTo(ChannelBuf buf) {
+        MessageCodecs.getCodec((Class) getClass()).write(this, buf);
+    }
 
 }
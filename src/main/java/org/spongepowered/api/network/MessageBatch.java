@@ -0,0 +1,174 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.network;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.spongepowered.api.util.Tuple;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import javax.annotation.Nullable;
+
+/**
+ * The messages sent to one player over a batched channel during a tick, which
+ * are written as a single payload at the end of the tick.
+ *
+ * <p>The payload starts with the number of messages as a VarInt, followed by
+ * each message as its id as a single byte, the length of its data as an
+ * integer and the data itself. The receiving side splits the payload using
+ * {@link #read(ChannelBuf, IntFunction, Handler)} before handing each
+ * message to its handler.</p>
+ *
+ * <p>A {@link CoalescingMessage} replaces a message with the same id and key
+ * that is already in the batch, keeping its position.</p>
+ *
+ * <p>Batches are not thread-safe.</p>
+ *
+ * @see ChannelRegistrar#createBatchedChannel(Object, String)
+ */
+public final class MessageBatch {
+
+    private final List<Message> messages = new ArrayList<Message>();
+    private final List<Integer> messageIds = new ArrayList<Integer>();
+    @Nullable private Map<Tuple<Integer, Object>, Integer> coalescing;
+
+    /**
+     * Adds a message to this batch.
+     *
+     * @param messageId The id the message is registered with
+     * @param message The message to add
+     */
+    public void add(int messageId, Message message) {
+        checkArgument(messageId >= 0 && messageId <= 255, "messageId must be between 0 and 255");
+        checkNotNull(message, "message");
+        if (message instanceof CoalescingMessage) {
+            if (this.coalescing == null) {
+                this.coalescing = new HashMap<Tuple<Integer, Object>, Integer>();
+            }
+            final Tuple<Integer, Object> key = Tuple.of(messageId, ((CoalescingMessage) message).getCoalescingKey());
+            final Integer index = this.coalescing.get(key);
+            if (index != null) {
+                this.messages.set(index, message);
+                return;
+            }
+            this.coalescing.put(key, this.messages.size());
+        }
+        this.messages.add(message);
+        this.messageIds.add(messageId);
+    }
+
+    /**
+     * Gets the number of messages in this batch.
+     *
+     * @return The number of messages
+     */
+    public int size() {
+        return this.messages.size();
+    }
+
+    /**
+     * Gets whether this batch contains no messages.
+     *
+     * @return True if this batch is empty
+     */
+    public boolean isEmpty() {
+        return this.messages.isEmpty();
+    }
+
+    /**
+     * Removes all messages from this batch, so it can be reused for the next
+     * tick.
+     */
+    public void clear() {
+        this.messages.clear();
+        this.messageIds.clear();
+        if (this.coalescing != null) {
+            this.coalescing.clear();
+        }
+    }
+
+    /**
+     * Writes all messages of this batch as a single payload.
+     *
+     * @param buf The buffer to write to
+     */
+    public void writeTo(ChannelBuf buf) {
+        buf.writeVarInt(this.messages.size());
+        for (int i = 0; i < this.messages.size(); i++) {
+            buf.writeByte((byte) (int) this.messageIds.get(i));
+            final int lengthIndex = buf.writerIndex();
+            buf.writeInteger(0);
+            this.messages.get(i).writeTo(buf);
+            buf.setInteger(lengthIndex, buf.writerIndex() - lengthIndex - 4);
+        }
+    }
+
+    /**
+     * Reads all messages of a payload written by {@link #writeTo(ChannelBuf)}
+     * and passes them to the given handler in order. Messages with an id the
+     * factory returns null for are skipped.
+     *
+     * @param buf The buffer to read from
+     * @param factory The factory creating an empty message for a message id
+     * @param handler The handler to pass the read messages to
+     */
+    public static void read(ChannelBuf buf, IntFunction<? extends Message> factory, Handler handler) {
+        final int count = buf.readVarInt();
+        for (int i = 0; i < count; i++) {
+            final int messageId = buf.readByte() & 0xFF;
+            final int length = buf.readInteger();
+            final int start = buf.readerIndex();
+            checkArgument(length >= 0 && length <= buf.available(), "Invalid message length %s", length);
+            final Message message = factory.apply(messageId);
+            if (message != null) {
+                message.readFrom(buf.slice(start, length));
+                handler.handle(messageId, message);
+            }
+            buf.setReadIndex(start + length);
+        }
+    }
+
+    /**
+     * Handles the messages read from a batch.
+     */
+    public interface Handler {
+
+        /**
+         * Handles a single message read from a batch.
+         *
+         * @param messageId The id of the message
+         * @param message The message
+         */
+        void handle(int messageId, Message message);
+
+    }
+
+}
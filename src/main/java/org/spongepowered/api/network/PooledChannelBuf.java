@@ -0,0 +1,89 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.network;
+
+/**
+ * A {@link ChannelBuf} whose memory is returned to its allocator once it is
+ * no longer used. Every buffer starts with a reference count of one, which is
+ * incremented by {@link #retain()} and decremented by {@link #release()}. The
+ * memory is reused once the count drops to zero, after which the buffer may no
+ * longer be accessed.
+ *
+ * <p>This buffer can be used in a try-with-resources statement, which releases
+ * it when done.</p>
+ */
+public interface PooledChannelBuf extends ChannelBuf, AutoCloseable {
+
+    /**
+     * Gets the current reference count of this buffer.
+     *
+     * @return The reference count
+     */
+    int refCount();
+
+    /**
+     * Increments the reference count of this buffer by one.
+     *
+     * @return This buffer for chaining
+     */
+    PooledChannelBuf retain();
+
+    /**
+     * Decrements the reference count of this buffer by one, returning the
+     * memory to the allocator if it drops to zero.
+     *
+     * @return True if the memory was returned to the allocator
+     */
+    boolean release();
+
+    /**
+     * Gets whether the content of this buffer is stored outside the Java heap.
+     * The {@link #array()} of such a buffer is always a copy.
+     *
+     * @return True if this buffer is direct
+     */
+    boolean isDirect();
+
+    /**
+     * Returns a read-only slice of this buffer's readable bytes, sharing the
+     * content and the reference count of this buffer, which is incremented by
+     * one. The slice must be released separately.
+     *
+     * <p>This allows the same encoded content to be handed out to multiple
+     * receivers without copying it.</p>
+     *
+     * @return The retained read-only slice
+     */
+    PooledChannelBuf retainedReadOnlySlice();
+
+    /**
+     * Releases this buffer, see {@link #release()}.
+     */
+    @Override
+    default void close() {
+        release();
+    }
+
+}
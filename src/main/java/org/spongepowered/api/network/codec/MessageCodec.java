@@ -0,0 +1,61 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.network.codec;
+
+import org.spongepowered.api.network.ChannelBuf;
+import org.spongepowered.api.network.Message;
+
+/**
+ * Reads, writes and creates instances of a {@link Message} class.
+ *
+ * @param <M> The type of message
+ * @see MessageCodecs#getCodec(Class)
+ */
+public interface MessageCodec<M extends Message> {
+
+    /**
+     * Creates a new, empty instance of the message class.
+     *
+     * @return The new message
+     */
+    M newInstance();
+
+    /**
+     * Reads the data from the channel buffer into the message.
+     *
+     * @param message The message to read into
+     * @param buf The buffer to read from
+     */
+    void read(M message, ChannelBuf buf);
+
+    /**
+     * Writes the data of the message to the channel buffer.
+     *
+     * @param message The message to write
+     * @param buf The buffer to write to
+     */
+    void write(M message, ChannelBuf buf);
+
+}
@@ -0,0 +1,291 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.network.codec;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ACC_SUPER;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.ARETURN;
+import static org.objectweb.asm.Opcodes.ASTORE;
+import static org.objectweb.asm.Opcodes.CHECKCAST;
+import static org.objectweb.asm.Opcodes.DUP;
+import static org.objectweb.asm.Opcodes.GETFIELD;
+import static org.objectweb.asm.Opcodes.INVOKEINTERFACE;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Opcodes.NEW;
+import static org.objectweb.asm.Opcodes.POP;
+import static org.objectweb.asm.Opcodes.PUTFIELD;
+import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.V1_6;
+
+import com.flowpowered.math.vector.Vector3d;
+import com.flowpowered.math.vector.Vector3i;
+import com.google.common.collect.ImmutableMap;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.api.network.ChannelBuf;
+import org.spongepowered.api.network.Message;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Generates the bytecode of the {@link MessageCodec}s provided by
+ * {@link MessageCodecs}.
+ */
+final class MessageCodecGenerator {
+
+    private static final String CHANNEL_BUF = Type.getInternalName(ChannelBuf.class);
+    private static final String MESSAGE = Type.getInternalName(Message.class);
+
+    /**
+     * The names of the {@link ChannelBuf} methods used to write and read a
+     * value of the given type, which are named {@code write<Name>} and
+     * {@code read<Name>}.
+     */
+    private static final ImmutableMap<Class<?>, String> accessors = ImmutableMap.<Class<?>, String>builder()
+            .put(boolean.class, "Boolean")
+            .put(byte.class, "Byte")
+            .put(short.class, "Short")
+            .put(char.class, "Char")
+            .put(int.class, "Integer")
+            .put(long.class, "Long")
+            .put(float.class, "Float")
+            .put(double.class, "Double")
+            .put(String.class, "UTF")
+            .put(UUID.class, "UniqueId")
+            .put(DataView.class, "DataView")
+            .build();
+
+    private MessageCodecGenerator() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <M extends Message> MessageCodec<M> generate(Class<M> type) {
+        checkArgument(Modifier.isPublic(type.getModifiers()) && !Modifier.isAbstract(type.getModifiers()) && !type.isInterface(),
+                "Message class %s must be public and not abstract", type.getName());
+        try {
+            type.getConstructor();
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("Message class " + type.getName() + " must have a public no-args constructor", e);
+        }
+
+        final String name = type.getName() + "$$Codec";
+        final ClassLoader parent = type.getClassLoader() != null ? type.getClassLoader() : MessageCodecGenerator.class.getClassLoader();
+        final Class<?> codecClass = new CodecClassLoader(parent).define(name, createClass(type, name, getFields(type)));
+        try {
+            return (MessageCodec<M>) codecClass.newInstance();
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new RuntimeException("Failed to create message codec", e);
+        }
+    }
+
+    /**
+     * Gets the fields annotated with {@link MessageField} of the given class
+     * and its superclasses, in the order they are encoded.
+     */
+    private static List<Field> getFields(Class<?> type) {
+        final List<Field> fields = new ArrayList<Field>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (!field.isAnnotationPresent(MessageField.class)) {
+                    continue;
+                }
+                final int modifiers = field.getModifiers();
+                checkArgument(Modifier.isPublic(modifiers) && !Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers),
+                        "Message field %s must be public, non-static and non-final", field);
+                checkArgument(isSupported(field.getType()), "Message field %s has an unsupported type", field);
+                fields.add(field);
+            }
+        }
+        // A codec without fields would silently send empty messages
+        checkArgument(!fields.isEmpty(), "Message %s has no fields annotated with @MessageField, it must implement readFrom and writeTo", type);
+        fields.sort(Comparator.comparingInt(field -> field.getAnnotation(MessageField.class).value()));
+        for (int i = 1; i < fields.size(); i++) {
+            checkArgument(getOrder(fields.get(i - 1)) != getOrder(fields.get(i)),
+                    "Message fields %s and %s have the same order", fields.get(i - 1), fields.get(i));
+        }
+        return fields;
+    }
+
+    private static int getOrder(Field field) {
+        return field.getAnnotation(MessageField.class).value();
+    }
+
+    private static boolean isSupported(Class<?> type) {
+        return accessors.containsKey(type) || type == DataContainer.class || type == Vector3i.class || type == Vector3d.class;
+    }
+
+    private static byte[] createClass(Class<?> type, String name, List<Field> fields) {
+        final String internalName = name.replace('.', '/');
+        final String messageName = Type.getInternalName(type);
+
+        final ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(V1_6, ACC_PUBLIC + ACC_FINAL + ACC_SUPER, internalName, null, "java/lang/Object",
+                new String[] {Type.getInternalName(MessageCodec.class)});
+
+        // Constructor
+        {
+            MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+            mv.visitCode();
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+
+        // newInstance()
+        {
+            MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "newInstance", "()L" + MESSAGE + ";", null, null);
+            mv.visitCode();
+            mv.visitTypeInsn(NEW, messageName);
+            mv.visitInsn(DUP);
+            mv.visitMethodInsn(INVOKESPECIAL, messageName, "<init>", "()V", false);
+            mv.visitInsn(ARETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+
+        // Fields are accessed through the message class, since the codec is in
+        // another runtime package and may not access their declaring class
+        // read(Message, ChannelBuf)
+        {
+            MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "read", "(L" + MESSAGE + ";L" + CHANNEL_BUF + ";)V", null, null);
+            mv.visitCode();
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitTypeInsn(CHECKCAST, messageName);
+            mv.visitVarInsn(ASTORE, 3);
+            for (Field field : fields) {
+                mv.visitVarInsn(ALOAD, 3);
+                visitRead(mv, field.getType());
+                mv.visitFieldInsn(PUTFIELD, messageName, field.getName(),
+                        Type.getDescriptor(field.getType()));
+            }
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+
+        // write(Message, ChannelBuf)
+        {
+            MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "write", "(L" + MESSAGE + ";L" + CHANNEL_BUF + ";)V", null, null);
+            mv.visitCode();
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitTypeInsn(CHECKCAST, messageName);
+            mv.visitVarInsn(ASTORE, 3);
+            for (Field field : fields) {
+                final String descriptor = Type.getDescriptor(field.getType());
+                if (field.getType() == Vector3i.class || field.getType() == Vector3d.class) {
+                    final Class<?> component = field.getType() == Vector3i.class ? int.class : double.class;
+                    for (String getter : new String[] {"getX", "getY", "getZ"}) {
+                        mv.visitVarInsn(ALOAD, 2);
+                        mv.visitVarInsn(ALOAD, 3);
+                        mv.visitFieldInsn(GETFIELD, messageName, field.getName(), descriptor);
+                        mv.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(field.getType()), getter,
+                                "()" + Type.getDescriptor(component), false);
+                        visitWrite(mv, component);
+                    }
+                } else {
+                    mv.visitVarInsn(ALOAD, 2);
+                    mv.visitVarInsn(ALOAD, 3);
+                    mv.visitFieldInsn(GETFIELD, messageName, field.getName(), descriptor);
+                    visitWrite(mv, field.getType() == DataContainer.class ? DataView.class : field.getType());
+                }
+            }
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    /**
+     * Writes the value on top of the stack to the buffer below it.
+     */
+    private static void visitWrite(MethodVisitor mv, Class<?> type) {
+        mv.visitMethodInsn(INVOKEINTERFACE, CHANNEL_BUF, "write" + accessors.get(type),
+                "(" + Type.getDescriptor(type) + ")L" + CHANNEL_BUF + ";", true);
+        mv.visitInsn(POP);
+    }
+
+    /**
+     * Reads a value of the given type from the buffer and pushes it onto the
+     * stack.
+     */
+    private static void visitRead(MethodVisitor mv, Class<?> type) {
+        if (type == Vector3i.class || type == Vector3d.class) {
+            final Class<?> component = type == Vector3i.class ? int.class : double.class;
+            final String componentDescriptor = Type.getDescriptor(component);
+            mv.visitTypeInsn(NEW, Type.getInternalName(type));
+            mv.visitInsn(DUP);
+            for (int i = 0; i < 3; i++) {
+                visitReadAccessor(mv, component);
+            }
+            mv.visitMethodInsn(INVOKESPECIAL, Type.getInternalName(type), "<init>",
+                    "(" + componentDescriptor + componentDescriptor + componentDescriptor + ")V", false);
+        } else if (type == DataContainer.class) {
+            visitReadAccessor(mv, DataView.class);
+            mv.visitMethodInsn(INVOKEINTERFACE, Type.getInternalName(DataView.class), "copy",
+                    "()" + Type.getDescriptor(DataContainer.class), true);
+        } else {
+            visitReadAccessor(mv, type);
+        }
+    }
+
+    private static void visitReadAccessor(MethodVisitor mv, Class<?> type) {
+        mv.visitVarInsn(ALOAD, 2);
+        mv.visitMethodInsn(INVOKEINTERFACE, CHANNEL_BUF, "read" + accessors.get(type), "()" + Type.getDescriptor(type), true);
+    }
+
+    /**
+     * Class loader defining a single generated codec, delegating to the
+     * class loader of the message class.
+     */
+    private static final class CodecClassLoader extends ClassLoader {
+
+        CodecClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        Class<?> define(String name, byte[] b) {
+            return defineClass(name, b, 0, b.length);
+        }
+
+    }
+
+}
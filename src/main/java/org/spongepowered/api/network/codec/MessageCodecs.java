@@ -0,0 +1,80 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.network.codec;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.spongepowered.api.network.ChannelBinding;
+import org.spongepowered.api.network.ChannelBuf;
+import org.spongepowered.api.network.Message;
+
+/**
+ * Provides generated {@link MessageCodec}s for {@link Message} classes whose
+ * fields are annotated with {@link MessageField}.
+ *
+ * <p>The codec of a class is generated once, the first time it is requested.
+ * It reads and writes the annotated fields directly, in their declared order,
+ * without reflection or branches, and creates new instances by calling the
+ * public no-args constructor directly.</p>
+ *
+ * <p>The supported field types are all primitives, {@link String}s (written
+ * using {@link ChannelBuf#writeUTF(String)}), {@link java.util.UUID}s,
+ * {@link com.flowpowered.math.vector.Vector3i}s,
+ * {@link com.flowpowered.math.vector.Vector3d}s,
+ * {@link org.spongepowered.api.data.DataView}s and
+ * {@link org.spongepowered.api.data.DataContainer}s.</p>
+ *
+ * @see ChannelBinding.IndexedMessageChannel
+ */
+public final class MessageCodecs {
+
+    private static final ClassValue<MessageCodec<?>> codecs = new ClassValue<MessageCodec<?>>() {
+
+        @Override
+        protected MessageCodec<?> computeValue(Class<?> type) {
+            return MessageCodecGenerator.generate(type.asSubclass(Message.class));
+        }
+
+    };
+
+    private MessageCodecs() {
+    }
+
+    /**
+     * Gets the codec for the given message class, generating it if necessary.
+     *
+     * @param messageClass The message class
+     * @param <M> The type of message
+     * @return The codec for the message class
+     * @throws IllegalArgumentException If the class is not public, has no
+     *         public no-args constructor, has no annotated fields or has an
+     *         annotated field that can not be encoded
+     */
+    @SuppressWarnings("unchecked")
+    public static <M extends Message> MessageCodec<M> getCodec(Class<M> messageClass) {
+        return (MessageCodec<M>) codecs.get(checkNotNull(messageClass, "messageClass"));
+    }
+
+}
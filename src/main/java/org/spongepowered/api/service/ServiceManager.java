@@ -79,6 +79,10 @@ public interface ServiceManager {
      *
      * <p>This allows performing actions when a service is registered, or on the existing service if it is already registered
      *
+     * <p>The same reference is returned for every call with the same service, and it is updated when the provider is set.
+     * Callers on hot paths should keep the reference instead of calling {@link #provide(Class)} repeatedly, as
+     * {@link ServiceReference#ref()} does not need to look up the service.
+     *
      * @param service The service
      * @param <T> The type of service
      * @return A reference to a current or future provider
@@ -37,6 +37,8 @@
     /**
      * Get the reference to the current state of this service.
      *
+     * <p>This is cheap enough to be called every time the service is used, there is no need to cache the result.
+     *
      * @return reference to the latest value of the service -- may not be present
      */
     Optional<T> ref();
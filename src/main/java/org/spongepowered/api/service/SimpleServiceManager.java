@@ -26,17 +26,15 @@
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.MapMaker;
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.plugin.PluginManager;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Predicate;
 
 import javax.annotation.Nullable;
@@ -49,7 +47,7 @@ public class SimpleServiceManager implements ServiceManager {
 
     private final ConcurrentMap<Class<?>, Provider> providers =
             new MapMaker().concurrencyLevel(3).makeMap();
-    private final ConcurrentMap<Class<?>, SimpleServiceReference<?>> potentials =
+    private final ConcurrentMap<Class<?>, SimpleServiceReference<?>> references =
             new MapMaker().concurrencyLevel(3).weakKeys().makeMap();
     private final PluginManager pluginManager;
 
@@ -85,7 +83,7 @@ public <T> void setProvider(Object plugin, Class<T> service, T provider) throws
             throw new ProviderExistsException("Provider for service " + service.getCanonicalName() + " has already been registered!");
         }
         @SuppressWarnings("unchecked")
-        SimpleServiceReference<T> ref = (SimpleServiceReference<T>) this.potentials.remove(service);
+        SimpleServiceReference<T> ref = (SimpleServiceReference<T>) this.references.get(service);
         if (ref != null) {
             ref.registered(provider);
         }
@@ -94,14 +92,19 @@ public <T> void setProvider(Object plugin, Class<T> service, T provider) throws
     @SuppressWarnings("unchecked")
     @Override
     public <T> ServiceReference<T> potentiallyProvide(Class<T> service) {
-        SimpleServiceReference<T> ref = new SimpleServiceReference<T>(provide(service));
-        @SuppressWarnings("rawtypes")
-        SimpleServiceReference newRef = this.potentials.putIfAbsent(service, ref);
-        if (newRef != null) {
-            ref = newRef;
-        }
-        if (ref.ref().isPresent()) {
-            this.potentials.remove(service, ref);
+        checkNotNull(service, "service");
+        SimpleServiceReference<T> ref = (SimpleServiceReference<T>) this.references.get(service);
+        if (ref == null) {
+            ref = new SimpleServiceReference<T>();
+            SimpleServiceReference<T> existing = (SimpleServiceReference<T>) this.references.putIfAbsent(service, ref);
+            if (existing != null) {
+                return existing;
+            }
+            // The provider may have been set before the reference was added
+            Optional<T> provider = provide(service);
+            if (provider.isPresent()) {
+                ref.registered(provider.get());
+            }
         }
         return ref;
     }
@@ -111,7 +114,7 @@ public <T> ServiceReference<T> potentiallyProvide(Class<T> service) {
     public <T> Optional<T> provide(Class<T> service) {
         checkNotNull(service, "service");
         @Nullable Provider provider = this.providers.get(service);
-        return provider != null ? (Optional<T>) Optional.of(provider.provider) : Optional.<T>empty();
+        return provider != null ? (Optional<T>) provider.optional : Optional.<T>empty();
     }
 
     @SuppressWarnings("unchecked")
@@ -131,23 +134,24 @@ private static class Provider {
         @SuppressWarnings("unused")
         private final PluginContainer container;
         private final Object provider;
+        private final Optional<Object> optional;
 
         private Provider(PluginContainer container, Object provider) {
             this.container = container;
             this.provider = provider;
+            this.optional = Optional.of(provider);
         }
     }
 
+    /**
+     * The reference to a service, shared by all callers of
+     * {@link #potentiallyProvide(Class)} and updated when the provider is set.
+     * Getting the service from it is a single volatile read.
+     */
     private static class SimpleServiceReference<T> implements ServiceReference<T> {
 
-        private final List<Predicate<T>> actionsOnPresent = new CopyOnWriteArrayList<Predicate<T>>();
-        private final Lock waitLock = new ReentrantLock();
-        private final Condition waitCondition = this.waitLock.newCondition();
-        private volatile Optional<T> service;
-
-        public SimpleServiceReference(Optional<T> service) {
-            this.service = service;
-        }
+        private final List<Predicate<T>> actionsOnPresent = new ArrayList<Predicate<T>>(); // Guarded by this
+        private volatile Optional<T> service = Optional.empty();
 
         @Override
         public Optional<T> ref() {
@@ -156,42 +160,45 @@ public Optional<T> ref() {
 
         @Override
         public T await() throws InterruptedException {
-            while (true) {
-                this.waitLock.lock();
-                try {
-                    Optional<T> service = this.service;
-                    if (service.isPresent()) {
-                        return service.get();
-                    }
-                    this.waitCondition.await();
-                } finally {
-                    this.waitLock.unlock();
+            Optional<T> service = this.service;
+            if (service.isPresent()) {
+                return service.get();
+            }
+            synchronized (this) {
+                while (!this.service.isPresent()) {
+                    wait();
                 }
+                return this.service.get();
             }
         }
 
         @Override
         public void executeWhenPresent(Predicate<T> run) {
             if (!this.service.isPresent()) {
-                this.actionsOnPresent.add(run);
-            } else {
-                run.test(this.service.get());
+                synchronized (this) {
+                    if (!this.service.isPresent()) {
+                        this.actionsOnPresent.add(run);
+                        return;
+                    }
+                }
             }
+            run.test(this.service.get());
         }
 
         public void registered(T service) {
-            this.service = Optional.of(service);
-            this.waitLock.lock();
-            try {
-                this.waitCondition.signalAll();
-            } finally {
-                this.waitLock.unlock();
+            final List<Predicate<T>> actions;
+            synchronized (this) {
+                if (this.service.isPresent()) {
+                    return;
+                }
+                this.service = Optional.of(service);
+                actions = ImmutableList.copyOf(this.actionsOnPresent);
+                this.actionsOnPresent.clear();
+                notifyAll();
             }
-            for (Predicate<T> func : this.actionsOnPresent) {
+            for (Predicate<T> func : actions) {
                 func.test(service);
             }
-            this.actionsOnPresent.clear();
-
         }
     }
 
@@ -0,0 +1,554 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.service.config;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.SimpleConfigurationNode;
+import ninja.leaping.configurate.commented.CommentedConfigurationNode;
+import ninja.leaping.configurate.commented.SimpleCommentedConfigurationNode;
+import ninja.leaping.configurate.loader.ConfigurationLoader;
+import org.slf4j.Logger;
+import org.spongepowered.api.service.scheduler.AsyncPool;
+import org.spongepowered.api.service.scheduler.SchedulerService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+
+/**
+ * A configuration file which is loaded, saved and reloaded without blocking
+ * the main thread.
+ *
+ * <p>Saves are coalesced: the first call to {@link #save()} schedules a write
+ * after the save delay, and further calls until the write starts are
+ * included in it. The file is written to a temporary file in the same
+ * directory which then replaces the configuration file, so the file on disk
+ * is never left half written.</p>
+ *
+ * <p>Configuration nodes are not thread safe, so the node belongs to the main
+ * thread: it may only be read and modified there, and {@link #save()} and
+ * {@link #modify(Consumer)} must be called there as well. Saving copies the
+ * node, and only the copy is serialized asynchronously.</p>
+ *
+ * <p>When {@link #watch() watched}, changes made to the file by others
+ * are loaded asynchronously and then applied on the main thread, notifying
+ * the {@link Builder#onReload(Consumer) reload listeners}. Changes made while
+ * a save is pending are not loaded, the save overwrites them.</p>
+ *
+ * @param <N> The type of the configuration node
+ */
+public final class AsyncConfig<N extends ConfigurationNode> implements AutoCloseable {
+
+    private static final HashFunction CONTENT_HASH = Hashing.sha256();
+
+    /**
+     * Creates a new builder for an asynchronous configuration.
+     *
+     * @param <N> The type of the configuration node
+     * @return A new builder
+     */
+    public static <N extends ConfigurationNode> Builder<N> builder() {
+        return new Builder<N>();
+    }
+
+    private final Path path;
+    private final Function<Path, ? extends ConfigurationLoader<N>> loaderFactory;
+    private final Logger logger;
+    private final Executor syncExecutor;
+    private final ScheduledExecutorService asyncExecutor;
+    private final long saveDelay;
+    private final List<Consumer<? super N>> reloadListeners;
+    private final Object saveLock = new Object();
+
+    @Nullable private volatile N node;
+    @Nullable private ScheduledFuture<?> scheduledSave; // Guarded by saveLock
+    @Nullable private CompletableFuture<Void> pendingSave; // Guarded by saveLock
+    @Nullable private ConfigurationNode pendingNode; // Guarded by saveLock
+    private boolean writing; // Guarded by saveLock
+    private long saves; // Guarded by saveLock
+    // The hash of the content last written, to recognize our own writes
+    @Nullable private volatile HashCode writtenHash;
+    @Nullable private WatchService watchService;
+    private boolean reloadScheduled; // Guarded by saveLock
+
+    AsyncConfig(Builder<N> builder) {
+        this.path = builder.path.toAbsolutePath();
+        this.loaderFactory = builder.loaderFactory;
+        this.logger = builder.logger;
+        this.syncExecutor = builder.scheduler.createSyncExecutor(builder.plugin);
+        this.asyncExecutor = builder.scheduler.createAsyncExecutor(builder.plugin, AsyncPool.BLOCKING);
+        this.saveDelay = builder.saveDelay;
+        this.reloadListeners = new CopyOnWriteArrayList<Consumer<? super N>>(builder.reloadListeners);
+    }
+
+    /**
+     * Gets the path of the configuration file.
+     *
+     * @return The path
+     */
+    public Path getPath() {
+        return this.path;
+    }
+
+    /**
+     * Gets the currently loaded configuration.
+     *
+     * @return The configuration node
+     * @throws IllegalStateException If the configuration was not loaded yet
+     */
+    public N getNode() {
+        final N node = this.node;
+        checkState(node != null, "The configuration has not been loaded yet");
+        return node;
+    }
+
+    /**
+     * Loads the configuration file asynchronously. The returned future is
+     * completed on the main thread, after the loaded node became the current
+     * node, or with the exception the file could not be loaded with.
+     *
+     * @return A future completed with the loaded node
+     */
+    public CompletableFuture<N> load() {
+        final CompletableFuture<N> result = new CompletableFuture<N>();
+        CompletableFuture.supplyAsync(this::read, this.asyncExecutor).whenCompleteAsync((node, ex) -> {
+            if (ex != null) {
+                result.completeExceptionally(ex);
+            } else {
+                this.node = node;
+                result.complete(node);
+            }
+        }, this.syncExecutor);
+        return result;
+    }
+
+    private N read() {
+        try {
+            return this.loaderFactory.apply(this.path).load();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Modifies the current node and schedules it to be saved. Must be called
+     * on the main thread.
+     *
+     * @param action The modification to apply
+     * @return A future completed once the modification was written
+     * @throws IllegalStateException If the configuration was not loaded yet
+     */
+    public CompletableFuture<Void> modify(Consumer<? super N> action) {
+        checkNotNull(action, "action");
+        action.accept(getNode());
+        return save();
+    }
+
+    /**
+     * Schedules a copy of the current node to be written to the file after
+     * the save delay. Calls made before the write starts share the same
+     * write, which writes the copy made by the last call. Calls made while a
+     * write is in progress share a write started once it finished, so writes
+     * never overlap. Must be called on the main thread.
+     *
+     * @return A future completed once the node was written
+     * @throws IllegalStateException If the configuration was not loaded yet
+     */
+    public CompletableFuture<Void> save() {
+        final ConfigurationNode copy = copy(getNode());
+        synchronized (this.saveLock) {
+            this.pendingNode = copy;
+            this.saves++;
+            final CompletableFuture<Void> pending = this.pendingSave;
+            if (pending != null) {
+                return pending;
+            }
+            final CompletableFuture<Void> save = new CompletableFuture<Void>();
+            this.pendingSave = save;
+            if (!this.writing) {
+                this.scheduledSave = this.asyncExecutor.schedule(this::write, this.saveDelay, TimeUnit.MILLISECONDS);
+            }
+            return save;
+        }
+    }
+
+    private static ConfigurationNode copy(ConfigurationNode node) {
+        final ConfigurationNode copy = node instanceof CommentedConfigurationNode
+                ? SimpleCommentedConfigurationNode.root(node.getOptions()) : SimpleConfigurationNode.root(node.getOptions());
+        copy(node, copy);
+        return copy;
+    }
+
+    private static void copy(ConfigurationNode from, ConfigurationNode to) {
+        if (from instanceof CommentedConfigurationNode && to instanceof CommentedConfigurationNode) {
+            final Optional<String> comment = ((CommentedConfigurationNode) from).getComment();
+            if (comment.isPresent()) {
+                ((CommentedConfigurationNode) to).setComment(comment.get());
+            }
+        }
+        if (from.hasMapChildren()) {
+            // Keeps empty sections
+            to.setValue(Collections.emptyMap());
+            for (Map.Entry<Object, ? extends ConfigurationNode> child : from.getChildrenMap().entrySet()) {
+                copy(child.getValue(), to.getNode(child.getKey()));
+            }
+        } else if (from.hasListChildren()) {
+            to.setValue(Collections.emptyList());
+            for (ConfigurationNode child : from.getChildrenList()) {
+                copy(child, to.getAppendedNode());
+            }
+        } else {
+            to.setValue(from.getValue());
+        }
+    }
+
+    /**
+     * Starts writing a scheduled save immediately, instead of waiting for the
+     * save delay to pass.
+     *
+     * @return A future completed once the pending save was written
+     */
+    public CompletableFuture<Void> flush() {
+        synchronized (this.saveLock) {
+            if (this.pendingSave == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            final CompletableFuture<Void> pending = this.pendingSave;
+            if (this.scheduledSave != null && this.scheduledSave.cancel(false)) {
+                this.asyncExecutor.execute(this::write);
+            }
+            return pending;
+        }
+    }
+
+    private void write() {
+        final CompletableFuture<Void> result;
+        final ConfigurationNode node;
+        synchronized (this.saveLock) {
+            result = this.pendingSave;
+            node = this.pendingNode;
+            if (result == null) {
+                return;
+            }
+            this.pendingSave = null;
+            this.pendingNode = null;
+            this.scheduledSave = null;
+            this.writing = true;
+        }
+        try {
+            writeAtomically(node);
+            result.complete(null);
+        } catch (IOException | RuntimeException e) {
+            result.completeExceptionally(e);
+        } finally {
+            synchronized (this.saveLock) {
+                this.writing = false;
+                // Saved while writing, the next write follows this one
+                if (this.pendingSave != null) {
+                    this.asyncExecutor.execute(this::write);
+                }
+            }
+        }
+    }
+
+    private void writeAtomically(ConfigurationNode node) throws IOException {
+        final Path directory = this.path.getParent();
+        Files.createDirectories(directory);
+        final Path temp = Files.createTempFile(directory, this.path.getFileName().toString(), ".tmp");
+        try {
+            this.loaderFactory.apply(temp).save(node);
+            final HashCode hash = CONTENT_HASH.hashBytes(Files.readAllBytes(temp));
+            try {
+                Files.move(temp, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, this.path, StandardCopyOption.REPLACE_EXISTING);
+            }
+            this.writtenHash = hash;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Adds a listener notified on the main thread after the configuration was
+     * reloaded because the file changed.
+     *
+     * @param listener The listener
+     */
+    public void onReload(Consumer<? super N> listener) {
+        this.reloadListeners.add(checkNotNull(listener, "listener"));
+    }
+
+    /**
+     * Starts watching the configuration file for changes made by others.
+     *
+     * @throws IOException If the directory of the file cannot be watched
+     */
+    public void watch() throws IOException {
+        synchronized (this.saveLock) {
+            if (this.watchService != null) {
+                return;
+            }
+            final Path directory = this.path.getParent();
+            Files.createDirectories(directory);
+            this.watchService = directory.getFileSystem().newWatchService();
+            directory.register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            final WatchService watchService = this.watchService;
+            this.asyncExecutor.execute(() -> watch(watchService));
+        }
+    }
+
+    private void watch(WatchService watchService) {
+        try {
+            while (true) {
+                final WatchKey key = watchService.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (this.path.getFileName().equals(event.context())) {
+                        scheduleReload();
+                    }
+                }
+                key.reset();
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // Stopped watching
+        }
+    }
+
+    /**
+     * Schedules the file to be reloaded after the save delay, unless a reload
+     * is scheduled already. Called when the file changed.
+     */
+    void scheduleReload() {
+        synchronized (this.saveLock) {
+            if (this.reloadScheduled) {
+                return;
+            }
+            this.reloadScheduled = true;
+        }
+        // Wait for the other writer to finish, like saves do
+        this.asyncExecutor.schedule(this::reload, this.saveDelay, TimeUnit.MILLISECONDS);
+    }
+
+    private void reload() {
+        final long saves;
+        synchronized (this.saveLock) {
+            this.reloadScheduled = false;
+            if (this.pendingSave != null || this.writing) {
+                warnOverwritten();
+                return;
+            }
+            saves = this.saves;
+        }
+        final N node;
+        try {
+            if (!Files.exists(this.path) || CONTENT_HASH.hashBytes(Files.readAllBytes(this.path)).equals(this.writtenHash)) {
+                // Deleted or written by us
+                return;
+            }
+            node = read();
+        } catch (IOException | RuntimeException e) {
+            this.logger.error("Could not reload the configuration file " + this.path, e);
+            return;
+        }
+        this.syncExecutor.execute(() -> {
+            synchronized (this.saveLock) {
+                if (this.saves != saves) {
+                    // Saved while reading, the save overwrites the file
+                    warnOverwritten();
+                    return;
+                }
+            }
+            this.node = node;
+            for (Consumer<? super N> listener : this.reloadListeners) {
+                listener.accept(node);
+            }
+        });
+    }
+
+    private void warnOverwritten() {
+        this.logger.warn("The configuration file {} was changed while it was being saved, the change is overwritten", this.path);
+    }
+
+    /**
+     * Stops watching the file and starts writing a pending save, see
+     * {@link #flush()}.
+     */
+    @Override
+    public void close() {
+        synchronized (this.saveLock) {
+            if (this.watchService != null) {
+                try {
+                    this.watchService.close();
+                } catch (IOException ignored) {
+                    // Nothing left to clean up
+                }
+                this.watchService = null;
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Represents a builder to create an {@link AsyncConfig}.
+     *
+     * @param <N> The type of the configuration node
+     */
+    public static final class Builder<N extends ConfigurationNode> {
+
+        @Nullable private Path path;
+        @Nullable private Function<Path, ? extends ConfigurationLoader<N>> loaderFactory;
+        @Nullable private Logger logger;
+        @Nullable private SchedulerService scheduler;
+        @Nullable private Object plugin;
+        private long saveDelay = 1000;
+        private final List<Consumer<? super N>> reloadListeners = new CopyOnWriteArrayList<Consumer<? super N>>();
+
+        Builder() {
+        }
+
+        /**
+         * Sets the path of the configuration file.
+         *
+         * @param path The path
+         * @return This builder, for chaining
+         */
+        public Builder<N> path(Path path) {
+            this.path = checkNotNull(path, "path");
+            return this;
+        }
+
+        /**
+         * Sets the function creating a loader for a file. The configuration is
+         * written to temporary files through loaders created by it, so the
+         * loader must read from and write to the given file.
+         *
+         * @param loaderFactory The function creating loaders
+         * @return This builder, for chaining
+         */
+        public Builder<N> loader(Function<Path, ? extends ConfigurationLoader<N>> loaderFactory) {
+            this.loaderFactory = checkNotNull(loaderFactory, "loaderFactory");
+            return this;
+        }
+
+        /**
+         * Sets the logger failures to reload the file are reported to.
+         *
+         * @param logger The logger
+         * @return This builder, for chaining
+         */
+        public Builder<N> logger(Logger logger) {
+            this.logger = checkNotNull(logger, "logger");
+            return this;
+        }
+
+        /**
+         * Sets the scheduler used to run the file operations on the
+         * {@link AsyncPool#BLOCKING blocking pool} and to return to the main
+         * thread.
+         *
+         * @param plugin The plugin owning the tasks
+         * @param scheduler The scheduler
+         * @return This builder, for chaining
+         */
+        public Builder<N> scheduler(Object plugin, SchedulerService scheduler) {
+            this.plugin = checkNotNull(plugin, "plugin");
+            this.scheduler = checkNotNull(scheduler, "scheduler");
+            return this;
+        }
+
+        /**
+         * Sets the time to wait after the first save before writing the file.
+         * By default, this is one second.
+         *
+         * @param delay The delay in the given {@link TimeUnit}
+         * @param unit The unit the delay is in
+         * @return This builder, for chaining
+         * @throws IllegalArgumentException If the delay is below 0
+         */
+        public Builder<N> saveDelay(long delay, TimeUnit unit) {
+            checkArgument(delay >= 0, "The delay must not be below 0");
+            this.saveDelay = unit.toMillis(delay);
+            return this;
+        }
+
+        /**
+         * Adds a listener notified on the main thread after the configuration
+         * was reloaded because the file changed.
+         *
+         * @param listener The listener
+         * @return This builder, for chaining
+         */
+        public Builder<N> onReload(Consumer<? super N> listener) {
+            this.reloadListeners.add(checkNotNull(listener, "listener"));
+            return this;
+        }
+
+        /**
+         * Builds the asynchronous configuration. The configuration still has
+         * to be {@link AsyncConfig#load() loaded}.
+         *
+         * @return A new asynchronous configuration
+         * @throws IllegalStateException If the builder is incomplete
+         */
+        public AsyncConfig<N> build() {
+            checkState(this.path != null, "A path is required");
+            checkState(this.loaderFactory != null, "A loader is required");
+            checkState(this.logger != null, "A logger is required");
+            checkState(this.scheduler != null, "A scheduler is required");
+            return new AsyncConfig<N>(this);
+        }
+
+    }
+
+}
@@ -74,6 +74,20 @@ public interface ConfigRoot {
      */
     ConfigurationLoader<CommentedConfigurationNode> getConfig();
 
+    /**
+     * Get the configuration file that utilizes the default configuration
+     * pathname, loaded and saved asynchronously.
+     *
+     * <p>The same instance is returned on every call. It has to be
+     * {@link AsyncConfig#load() loaded} before it can be used, and should be
+     * used instead of {@link #getConfig()} by plugins saving their
+     * configuration while the server is running.</p>
+     *
+     * @return An asynchronous configuration object
+     * @see #getConfigPath()
+     */
+    AsyncConfig<CommentedConfigurationNode> getAsyncConfig();
+
     /**
      * Get the directory that this configuration root refers to.
      *
@@ -0,0 +1,161 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.service.pagination;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.base.Objects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.util.command.CommandSource;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link PaginationCalculator} remembering the line counts computed by
+ * another calculator, per source, locale and text. The locale of a
+ * {@link Player} is the one of their client, all other sources use the
+ * default locale.
+ *
+ * <p>Measuring a text is usually much more expensive than the lookup, and the
+ * same texts are measured again every time a source flips between pages.
+ * Entries expire if they are not used for a few minutes. Use
+ * {@link #invalidate(CommandSource)} if the display settings of a source
+ * change.</p>
+ *
+ * @param <T> The type of command source
+ */
+public class CachingPaginationCalculator<T extends CommandSource> implements PaginationCalculator<T> {
+
+    private static final int DEFAULT_MAXIMUM_SIZE = 8192;
+
+    private final PaginationCalculator<T> calculator;
+    private final Cache<LineKey, Integer> lines;
+
+    /**
+     * Creates a new caching calculator delegating to the given calculator.
+     *
+     * @param calculator The calculator to delegate to
+     */
+    public CachingPaginationCalculator(PaginationCalculator<T> calculator) {
+        this(calculator, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Creates a new caching calculator delegating to the given calculator,
+     * remembering at most the given number of line counts.
+     *
+     * @param calculator The calculator to delegate to
+     * @param maximumSize The maximum number of line counts to remember
+     */
+    public CachingPaginationCalculator(PaginationCalculator<T> calculator, int maximumSize) {
+        this.calculator = checkNotNull(calculator, "calculator");
+        this.lines = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(5, TimeUnit.MINUTES)
+                .build();
+    }
+
+    @Override
+    public int getLinesPerPage(T source) {
+        return this.calculator.getLinesPerPage(source);
+    }
+
+    @Override
+    public int getLines(T source, Text text) {
+        final LineKey key = new LineKey(source.getIdentifier(), getLocale(source), text);
+        Integer lines = this.lines.getIfPresent(key);
+        if (lines == null) {
+            lines = this.calculator.getLines(source, text);
+            this.lines.put(key, lines);
+        }
+        return lines;
+    }
+
+    @Override
+    public Text center(T source, Text text, String padding) {
+        return this.calculator.center(source, text, padding);
+    }
+
+    /**
+     * Forgets all line counts computed for the given source.
+     *
+     * @param source The source to forget the line counts of
+     */
+    public void invalidate(T source) {
+        final String identifier = source.getIdentifier();
+        this.lines.asMap().keySet().removeIf(key -> key.identifier.equals(identifier));
+    }
+
+    /**
+     * Forgets all line counts.
+     */
+    public void invalidateAll() {
+        this.lines.invalidateAll();
+    }
+
+    private static Locale getLocale(CommandSource source) {
+        return source instanceof Player ? ((Player) source).getLocale() : Locale.getDefault();
+    }
+
+    private static final class LineKey {
+
+        final String identifier;
+        final Locale locale;
+        final Text text;
+
+        LineKey(String identifier, Locale locale, Text text) {
+            this.identifier = identifier;
+            this.locale = locale;
+            this.text = text;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof LineKey)) {
+                return false;
+            }
+            LineKey that = (LineKey) o;
+            return this.identifier.equals(that.identifier)
+                    && this.locale.equals(that.locale)
+                    && this.text.equals(that.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(this.identifier, this.locale, this.text);
+        }
+
+    }
+
+}
@@ -27,10 +27,16 @@
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.util.command.CommandSource;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Builds a paginated output for an iterable of {@link Text}s.
+ *
+ * <p>Contents are measured and rendered one page at a time, when that page is
+ * viewed, so large or expensive contents can be passed as a lazy
+ * {@link Iterable} or {@link Iterator}.</p>
  */
 public interface PaginationBuilder {
 
@@ -44,6 +50,32 @@ public interface PaginationBuilder {
      */
     PaginationBuilder contents(Iterable<Text> contents);
 
+    /**
+     * Set the contents of this output to the texts returned by the given
+     * {@link Iterator}. The iterator is only advanced as far as needed for the
+     * pages that are viewed, and only going to the next page will be
+     * supported.
+     *
+     * @param contents The contents to output
+     * @return this
+     */
+    default PaginationBuilder contents(Iterator<Text> contents) {
+        // The iterator can only be traversed once, like other non-list contents
+        Iterable<Text> iterable = () -> contents;
+        return contents(iterable);
+    }
+
+    /**
+     * Set the contents of this output to the result of the given future, for
+     * contents that are loaded asynchronously, for example from a database.
+     * The output is sent once the contents are available.
+     *
+     * @param contents The future providing the contents to output
+     * @return this
+     * @see #contents(Iterable)
+     */
+    PaginationBuilder contents(CompletableFuture<? extends Iterable<Text>> contents);
+
     /**
      * Set the contents of this output to be the given array of contents.
      *
@@ -93,4 +125,14 @@ public interface PaginationBuilder {
      */
     void sendTo(CommandSource source);
 
+    /**
+     * Send the constructed output to the given source, rendering the page off
+     * the main thread. Only sending the rendered page happens on the main
+     * thread.
+     *
+     * @param source The source to send to
+     * @return A future completing once the page has been sent
+     */
+    CompletableFuture<Void> sendToAsync(CommandSource source);
+
 }
@@ -40,6 +40,8 @@ public interface PaginationService {
 
     /**
      * Register a pagination calculator for a specific type of command source.
+     * Calculators that are expensive to query can be wrapped in a
+     * {@link CachingPaginationCalculator}.
      *
      * @param type The type of command source
      * @param calculator The calculator to register
@@ -24,12 +24,25 @@
  */
 package org.spongepowered.api.service.scheduler;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Represents a scheduler for running {@link Task}s.
+ *
+ * <p>Implementations can keep the scheduled tasks in {@link TimingWheel}s,
+ * so each tick only visits the tasks that are due.</p>
+ *
+ * <p>Asynchronous tasks run on one of the {@link AsyncPool}s. The compute
+ * pool is a work-stealing pool, the blocking pool should give every running
+ * task its own thread, using virtual threads where the platform offers them,
+ * so blocking tasks never starve the compute pool.</p>
  */
 public interface SchedulerService {
 
@@ -40,6 +53,49 @@ public interface SchedulerService {
      */
     TaskBuilder createTaskBuilder();
 
+    /**
+     * Creates a {@link ScheduledExecutorService} running everything submitted
+     * to it as synchronous {@link Task}s owned by the given plugin, on the
+     * main thread.
+     *
+     * <p>The executor can be passed to the asynchronous methods of
+     * {@link CompletableFuture} to continue a chain on the main thread.
+     * Shutting it down only affects the tasks submitted through it.</p>
+     *
+     * @param plugin The owner of the tasks
+     * @return A new executor
+     */
+    default ScheduledExecutorService createSyncExecutor(Object plugin) {
+        return new TaskExecutorService(this, plugin, null);
+    }
+
+    /**
+     * Creates a {@link ScheduledExecutorService} running everything submitted
+     * to it as asynchronous {@link Task}s owned by the given plugin, on the
+     * {@link AsyncPool#COMPUTE} pool.
+     *
+     * @param plugin The owner of the tasks
+     * @return A new executor
+     * @see #createSyncExecutor(Object)
+     */
+    default ScheduledExecutorService createAsyncExecutor(Object plugin) {
+        return createAsyncExecutor(plugin, AsyncPool.COMPUTE);
+    }
+
+    /**
+     * Creates a {@link ScheduledExecutorService} running everything submitted
+     * to it as asynchronous {@link Task}s owned by the given plugin, on the
+     * given pool.
+     *
+     * @param plugin The owner of the tasks
+     * @param pool The pool to run the tasks on
+     * @return A new executor
+     * @see #createSyncExecutor(Object)
+     */
+    default ScheduledExecutorService createAsyncExecutor(Object plugin, AsyncPool pool) {
+        return new TaskExecutorService(this, plugin, checkNotNull(pool, "pool"));
+    }
+
     /**
      * Retrieves a scheduled or running task by its unique ID.
      *
@@ -82,6 +138,47 @@ public interface SchedulerService {
      */
     Set<Task> getScheduledTasks(Object plugin);
 
+    /**
+     * Gets the number of currently scheduled tasks owned by the given plugin.
+     *
+     * @param plugin The plugin that created the tasks
+     * @return The number of scheduled tasks
+     */
+    default int getScheduledTaskCount(Object plugin) {
+        return getScheduledTasks(plugin).size();
+    }
+
+    /**
+     * Gets the time the synchronous tasks owned by the given plugin took to
+     * execute during the last tick.
+     *
+     * @param plugin The plugin that created the tasks
+     * @param unit The unit to return the time in
+     * @return The execution time during the last tick
+     */
+    long getLastTickExecutionTime(Object plugin, TimeUnit unit);
+
+    /**
+     * Gets the time synchronous tasks may take during a single tick before
+     * {@link TaskBuilder#deferrable() deferrable} tasks are postponed to the
+     * next tick.
+     *
+     * @param unit The unit to return the budget in
+     * @return The tick budget
+     */
+    long getTickBudget(TimeUnit unit);
+
+    /**
+     * Sets the time synchronous tasks may take during a single tick before
+     * {@link TaskBuilder#deferrable() deferrable} tasks are postponed to the
+     * next tick. Tasks that are not deferrable always run when they are due.
+     *
+     * @param budget The budget in the given {@link TimeUnit}
+     * @param unit The unit the budget is in
+     * @throws IllegalArgumentException If the budget is below 0
+     */
+    void setTickBudget(long budget, TimeUnit unit);
+
     /**
      * Gets the ideal delay between ticks in milliseconds. The server aims to
      * stabilise at this value.
@@ -27,6 +27,8 @@
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.util.Identifiable;
 
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 /**
@@ -88,4 +90,52 @@ public interface Task extends Identifiable {
      */
     boolean isAsynchronous();
 
+    /**
+     * Gets the pool this task runs on if it is asynchronous.
+     *
+     * @return The pool, or {@link Optional#empty()} if synchronous
+     */
+    Optional<AsyncPool> getAsyncPool();
+
+    /**
+     * Gets the time a single execution of this task is expected to take at
+     * most, see {@link TaskBuilder#budget(long, TimeUnit)}.
+     *
+     * @param unit The unit to return the budget in
+     * @return The budget, or 0 if this task has no budget
+     */
+    long getBudget(TimeUnit unit);
+
+    /**
+     * Gets whether this task may be postponed when the tick budget is used
+     * up, see {@link TaskBuilder#deferrable()}.
+     *
+     * @return True if this task is deferrable
+     */
+    boolean isDeferrable();
+
+    /**
+     * Gets the number of times this task has been executed.
+     *
+     * @return The number of executions
+     */
+    long getExecutionCount();
+
+    /**
+     * Gets the time the last execution of this task took.
+     *
+     * @param unit The unit to return the time in
+     * @return The time of the last execution, or 0 if it has not been
+     *         executed yet
+     */
+    long getLastExecutionTime(TimeUnit unit);
+
+    /**
+     * Gets the total time all executions of this task took.
+     *
+     * @param unit The unit to return the time in
+     * @return The total execution time
+     */
+    long getTotalExecutionTime(TimeUnit unit);
+
 }
@@ -50,9 +50,24 @@ public interface TaskBuilder {
      * be converted to the equivalent wall clock time by multiplying the value
      * by {@link SchedulerService#getPreferredTickInterval()}.</p>
      *
+     * <p>Asynchronous tasks run on the {@link AsyncPool#COMPUTE} pool, tasks
+     * performing blocking I/O should use {@link #async(AsyncPool)} with
+     * {@link AsyncPool#BLOCKING} instead.</p>
+     *
      * @return This builder, for chaining
      */
-    TaskBuilder async();
+    default TaskBuilder async() {
+        return this.async(AsyncPool.COMPUTE);
+    }
+
+    /**
+     * Sets the task to run asynchronously on the given pool.
+     *
+     * @param pool The pool to run the task on
+     * @return This builder, for chaining
+     * @see #async()
+     */
+    TaskBuilder async(AsyncPool pool);
 
     /**
      * Sets the {@link Runnable} to run when this task executes.
@@ -122,6 +137,40 @@ default TaskBuilder execute(Runnable runnable) {
      */
     TaskBuilder intervalTicks(long ticks);
 
+    /**
+     * Sets the time a single execution of this task is expected to take at
+     * most. Executions taking longer are reported as overruns to the timings
+     * system, see {@link co.aikar.timings.Timings#recordOverrun}. By default,
+     * tasks have no budget.
+     *
+     * @param budget The budget in the given {@link TimeUnit}
+     * @param unit The unit the budget is in
+     * @return This builder, for chaining
+     * @throws IllegalArgumentException If the budget is below 0
+     */
+    TaskBuilder budget(long budget, TimeUnit unit);
+
+    /**
+     * Marks this synchronous task as deferrable. Once the tasks run during a
+     * tick have used up the {@link SchedulerService#getTickBudget tick budget}
+     * of the scheduler, deferrable tasks that are due are postponed to the
+     * next tick instead of being run.
+     *
+     * @return This builder, for chaining
+     */
+    TaskBuilder deferrable();
+
+    /**
+     * Lets the scheduler offset the first execution of this repeating
+     * synchronous task, so repeating tasks with the same interval do not all
+     * run on the same tick. The initial delay is increased by less than one
+     * interval, choosing the tick where the fewest tasks with the same interval
+     * run.
+     *
+     * @return This builder, for chaining
+     */
+    TaskBuilder spread();
+
     /**
      * Sets the name of the task, the name cannot be blank.
      *
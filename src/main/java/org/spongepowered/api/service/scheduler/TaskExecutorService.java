@@ -0,0 +1,303 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.service.scheduler;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Sets;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link ScheduledExecutorService} submitting everything it runs as
+ * {@link Task}s to a {@link SchedulerService}.
+ *
+ * <p>Shutting the executor down only affects the tasks submitted through it.
+ * Like the {@link java.util.concurrent.ScheduledThreadPoolExecutor}, delayed
+ * tasks still run after {@link #shutdown()} while periodic tasks are
+ * cancelled.</p>
+ */
+final class TaskExecutorService extends AbstractExecutorService implements ScheduledExecutorService {
+
+    private final SchedulerService scheduler;
+    private final Object plugin;
+    @Nullable private final AsyncPool pool;
+    private final Set<ScheduledTaskFuture<?>> pending = Sets.newConcurrentHashSet();
+    private final Object lock = new Object();
+    private volatile boolean shutdown;
+
+    /**
+     * Creates a new executor.
+     *
+     * @param scheduler The scheduler to submit the tasks to
+     * @param plugin The owner of the submitted tasks
+     * @param pool The pool to run the tasks on, or null to run them on the
+     *        main thread
+     */
+    TaskExecutorService(SchedulerService scheduler, Object plugin, @Nullable AsyncPool pool) {
+        this.scheduler = checkNotNull(scheduler, "scheduler");
+        this.plugin = checkNotNull(plugin, "plugin");
+        this.pool = pool;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        schedule(command, 0, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public Future<?> submit(Runnable task) {
+        return schedule(task, 0, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public <T> Future<T> submit(Runnable task, T result) {
+        return submit(new ScheduledTaskFuture<T>(this, checkNotNull(task, "task"), result, 0, 0), 0);
+    }
+
+    @Override
+    public <T> Future<T> submit(Callable<T> task) {
+        return schedule(task, 0, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        final long nanos = unit.toNanos(delay);
+        return submit(new ScheduledTaskFuture<Void>(this, checkNotNull(command, "command"), null, nanos, 0), nanos);
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        final long nanos = unit.toNanos(delay);
+        return submit(new ScheduledTaskFuture<V>(this, checkNotNull(callable, "callable"), nanos), nanos);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+        final long nanos = unit.toNanos(initialDelay);
+        return submit(new ScheduledTaskFuture<Void>(this, checkNotNull(command, "command"), null, nanos, unit.toNanos(period)), nanos);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        if (delay <= 0) {
+            throw new IllegalArgumentException("delay must be positive");
+        }
+        final long nanos = unit.toNanos(initialDelay);
+        return submit(new ScheduledTaskFuture<Void>(this, checkNotNull(command, "command"), null, nanos, -unit.toNanos(delay)), nanos);
+    }
+
+    private <V> ScheduledTaskFuture<V> submit(ScheduledTaskFuture<V> future, long delay) {
+        synchronized (this.lock) {
+            if (this.shutdown) {
+                throw new RejectedExecutionException("The executor has been shut down");
+            }
+            this.pending.add(future);
+        }
+        try {
+            submitTask(future, delay);
+        } catch (RuntimeException e) {
+            remove(future);
+            throw e;
+        }
+        return future;
+    }
+
+    /**
+     * Submits a task running the given future after the given delay.
+     * Futures repeating at a fixed rate are submitted once, with an interval.
+     *
+     * @param future The future to run
+     * @param delay The delay in nanoseconds
+     */
+    void submitTask(ScheduledTaskFuture<?> future, long delay) {
+        final TaskBuilder builder = this.scheduler.createTaskBuilder()
+                .execute(task -> future.run())
+                .delay(Math.max(0, delay), TimeUnit.NANOSECONDS);
+        if (future.period > 0) {
+            builder.interval(future.period, TimeUnit.NANOSECONDS);
+        }
+        if (this.pool != null) {
+            builder.async(this.pool);
+        }
+        future.setTask(builder.submit(this.plugin));
+    }
+
+    void remove(ScheduledTaskFuture<?> future) {
+        synchronized (this.lock) {
+            if (this.pending.remove(future) && this.pending.isEmpty()) {
+                this.lock.notifyAll();
+            }
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        this.shutdown = true;
+        for (ScheduledTaskFuture<?> future : this.pending) {
+            if (future.isPeriodic()) {
+                future.cancel(false);
+            }
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        this.shutdown = true;
+        final ImmutableList.Builder<Runnable> cancelled = ImmutableList.builder();
+        for (ScheduledTaskFuture<?> future : this.pending) {
+            if (future.cancel(false)) {
+                cancelled.add(future);
+            }
+        }
+        return cancelled.build();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return this.shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return this.shutdown && this.pending.isEmpty();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        final long deadline = System.nanoTime() + nanos;
+        synchronized (this.lock) {
+            while (!isTerminated()) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this.lock, nanos);
+                nanos = deadline - System.nanoTime();
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A future backed by the {@link Task} currently scheduled to run it.
+     *
+     * @param <V> The type of the result
+     */
+    static final class ScheduledTaskFuture<V> extends FutureTask<V> implements RunnableScheduledFuture<V> {
+
+        private final TaskExecutorService executor;
+        /**
+         * The period in nanoseconds, positive for a fixed rate, negative for
+         * a fixed delay and 0 for tasks only running once.
+         */
+        final long period;
+        private volatile long time;
+        @Nullable private volatile Task task;
+
+        ScheduledTaskFuture(TaskExecutorService executor, Runnable runnable, @Nullable V result, long delay, long period) {
+            super(runnable, result);
+            this.executor = executor;
+            this.period = period;
+            this.time = System.nanoTime() + delay;
+        }
+
+        ScheduledTaskFuture(TaskExecutorService executor, Callable<V> callable, long delay) {
+            super(callable);
+            this.executor = executor;
+            this.period = 0;
+            this.time = System.nanoTime() + delay;
+        }
+
+        void setTask(Task task) {
+            this.task = task;
+            if (isDone()) {
+                task.cancel();
+            }
+        }
+
+        @Override
+        public boolean isPeriodic() {
+            return this.period != 0;
+        }
+
+        @Override
+        public void run() {
+            if (!isPeriodic()) {
+                super.run();
+            } else if (runAndReset()) {
+                if (this.period > 0) {
+                    this.time += this.period;
+                } else if (this.executor.isShutdown()) {
+                    cancel(false);
+                } else {
+                    this.time = System.nanoTime() - this.period;
+                    this.executor.submitTask(this, -this.period);
+                }
+            }
+        }
+
+        @Override
+        protected void done() {
+            final Task task = this.task;
+            if (task != null) {
+                task.cancel();
+            }
+            this.executor.remove(this);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(this.time - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            if (o == this) {
+                return 0;
+            }
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), o.getDelay(TimeUnit.NANOSECONDS));
+        }
+
+    }
+
+}
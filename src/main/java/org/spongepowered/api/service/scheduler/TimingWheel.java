@@ -0,0 +1,224 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.service.scheduler;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * A hierarchical timing wheel for scheduling values a number of ticks ahead,
+ * which can be used by {@link SchedulerService} implementations.
+ *
+ * <p>Scheduling and cancelling a value take constant time, and advancing by
+ * one tick only visits the values that are due, plus the values of a single
+ * coarser slot which are moved closer every 64 ticks. For synchronous tasks a
+ * tick is a server tick. Asynchronous tasks can use a separate wheel whose
+ * ticks are a fixed wall-clock resolution, such as one millisecond.</p>
+ *
+ * <p>Timing wheels are not thread-safe.</p>
+ *
+ * @param <T> The type of the scheduled values
+ */
+public final class TimingWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    // Enough levels to hold any positive long delay
+    private static final int LEVELS = (Long.SIZE + SLOT_BITS - 1) / SLOT_BITS;
+
+    private final Entry<?>[][] wheel = new Entry<?>[LEVELS][SLOTS];
+    private long currentTick;
+    private int size;
+
+    /**
+     * Creates a new, empty timing wheel starting at tick zero.
+     */
+    public TimingWheel() {
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                final Entry<T> head = new Entry<T>(this, null, 0);
+                head.prev = head;
+                head.next = head;
+                this.wheel[level][slot] = head;
+            }
+        }
+    }
+
+    /**
+     * Gets the current tick of this wheel, which is the number of times it
+     * has been {@link #advance(Consumer) advanced}.
+     *
+     * @return The current tick
+     */
+    public long getCurrentTick() {
+        return this.currentTick;
+    }
+
+    /**
+     * Gets the number of values scheduled in this wheel.
+     *
+     * @return The number of scheduled values
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Schedules the given value to be due after the given number of ticks.
+     * Values with a delay of zero or less are due on the next tick.
+     *
+     * @param value The value to schedule
+     * @param delay The delay in ticks
+     * @return The entry of the value, which can be used to cancel it
+     */
+    public Entry<T> schedule(T value, long delay) {
+        checkNotNull(value, "value");
+        final long deadline = this.currentTick + Math.max(1, Math.min(delay, Long.MAX_VALUE - this.currentTick));
+        final Entry<T> entry = new Entry<T>(this, value, deadline);
+        insert(entry);
+        this.size++;
+        return entry;
+    }
+
+    /**
+     * Advances this wheel by one tick, passing all values that are due to the
+     * given consumer. Values scheduled by the consumer are not due before the
+     * next tick.
+     *
+     * @param consumer The consumer of the due values
+     */
+    public void advance(Consumer<? super T> consumer) {
+        final long tick = ++this.currentTick;
+
+        // Move the values of the coarser slots reached by this tick closer,
+        // starting with the coarsest level
+        int level = 0;
+        while (level + 1 < LEVELS && (tick & ((1L << (SLOT_BITS * (level + 1))) - 1)) == 0) {
+            level++;
+        }
+        for (; level > 0; level--) {
+            final Entry<?> head = this.wheel[level][slotOf(tick, level)];
+            Entry<?> entry = head.next;
+            head.prev = head;
+            head.next = head;
+            while (entry != head) {
+                final Entry<?> next = entry.next;
+                insert(entry);
+                entry = next;
+            }
+        }
+
+        final Entry<?> head = this.wheel[0][(int) (tick & SLOT_MASK)];
+        while (head.next != head) {
+            @SuppressWarnings("unchecked")
+            final Entry<T> entry = (Entry<T>) head.next;
+            entry.unlink();
+            this.size--;
+            consumer.accept(entry.value);
+        }
+    }
+
+    private void insert(Entry<?> entry) {
+        final long delta = entry.deadline - this.currentTick;
+        int level = 0;
+        while (level + 1 < LEVELS && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        final Entry<?> head = this.wheel[level][slotOf(entry.deadline, level)];
+        entry.prev = head.prev;
+        entry.next = head;
+        head.prev.next = entry;
+        head.prev = entry;
+    }
+
+    private static int slotOf(long tick, int level) {
+        return (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+    }
+
+    /**
+     * A value scheduled in a {@link TimingWheel}.
+     *
+     * @param <T> The type of the value
+     */
+    public static final class Entry<T> {
+
+        private final TimingWheel<?> wheel;
+        @Nullable private final T value;
+        private final long deadline;
+        @Nullable private Entry<?> prev;
+        @Nullable private Entry<?> next;
+
+        Entry(TimingWheel<?> wheel, @Nullable T value, long deadline) {
+            this.wheel = wheel;
+            this.value = value;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Gets the tick this entry is due at.
+         *
+         * @return The tick this entry is due at
+         */
+        public long getDeadline() {
+            return this.deadline;
+        }
+
+        /**
+         * Gets whether this entry is still waiting to be due.
+         *
+         * @return True if this entry is scheduled
+         */
+        public boolean isScheduled() {
+            return this.next != null;
+        }
+
+        /**
+         * Removes this entry from its wheel, so it will not become due.
+         *
+         * @return True if the entry was scheduled
+         */
+        public boolean cancel() {
+            if (this.next == null) {
+                return false;
+            }
+            unlink();
+            this.wheel.size--;
+            return true;
+        }
+
+        void unlink() {
+            this.prev.next = this.next;
+            this.next.prev = this.prev;
+            this.prev = null;
+            this.next = null;
+        }
+
+    }
+
+}
@@ -30,6 +30,7 @@
 import com.google.common.base.Objects;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterators;
+import com.google.common.primitives.Primitives;
 import org.spongepowered.api.text.action.ClickAction;
 import org.spongepowered.api.text.action.HoverAction;
 import org.spongepowered.api.text.action.ShiftClickAction;
@@ -41,6 +42,7 @@
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 
 import javax.annotation.Nullable;
 
@@ -72,6 +74,24 @@ public abstract class Text implements TextRepresentable {
     protected final Optional<HoverAction<?>> hoverAction;
     protected final Optional<ShiftClickAction<?>> shiftClickAction;
 
+    /**
+     * Whether the hash code of this text can be cached. This is false if the
+     * text or one of its children is a {@link Score}, since its value may
+     * change, or a {@link Translatable} with an argument that may change. The
+     * same applies to the text shown by a {@link HoverAction.ShowText}, while
+     * shown items and entities are never cached.
+     */
+    private final boolean cacheable;
+    /**
+     * Whether the plain form of this text can be cached. In addition to
+     * {@link Score}s, this is false for texts containing a
+     * {@link Translatable}, since the translation may change when the
+     * translations are reloaded or the default locale changes.
+     */
+    private final boolean plainCacheable;
+    @Nullable private volatile String plain;
+    private int hash;
+
     /**
      * An {@link Iterable} providing an {@link Iterator} over this {@link Text}
      * as well as all children text and their children.
@@ -86,7 +106,11 @@ public Iterator<Text> iterator() {
     };
 
     Text() {
-        this(new TextFormat(), ImmutableList.<Text>of(), null, null, null);
+        this(true);
+    }
+
+    Text(boolean hashStable) {
+        this(new TextFormat(), ImmutableList.<Text>of(), null, null, null, hashStable);
     }
 
     /**
@@ -102,11 +126,54 @@ public Iterator<Text> iterator() {
      */
     Text(TextFormat format, ImmutableList<Text> children, @Nullable ClickAction<?> clickAction,
             @Nullable HoverAction<?> hoverAction, @Nullable ShiftClickAction<?> shiftClickAction) {
+        this(format, children, clickAction, hoverAction, shiftClickAction, true);
+    }
+
+    /**
+     * Constructs a new immutable {@link Text} with the specified formatting and
+     * text actions applied.
+     *
+     * @param format The format of the text
+     * @param children The immutable list of children of the text
+     * @param clickAction The click action of the text, or {@code null} for none
+     * @param hoverAction The hover action of the text, or {@code null} for none
+     * @param shiftClickAction The shift click action of the text, or
+     *        {@code null} for none
+     * @param hashStable Whether the content of the subclass can be hashed once
+     */
+    Text(TextFormat format, ImmutableList<Text> children, @Nullable ClickAction<?> clickAction,
+            @Nullable HoverAction<?> hoverAction, @Nullable ShiftClickAction<?> shiftClickAction, boolean hashStable) {
         this.format = checkNotNull(format, "format");
         this.children = checkNotNull(children, "children");
         this.clickAction = Optional.<ClickAction<?>>ofNullable(clickAction);
         this.hoverAction = Optional.<HoverAction<?>>ofNullable(hoverAction);
         this.shiftClickAction = Optional.<ShiftClickAction<?>>ofNullable(shiftClickAction);
+        boolean cacheable = hashStable && !(this instanceof Score) && isCacheable(hoverAction);
+        boolean plainCacheable = !(this instanceof Score) && !(this instanceof Translatable);
+        for (Text child : children) {
+            cacheable &= child.cacheable;
+            plainCacheable &= child.plainCacheable;
+        }
+        this.cacheable = cacheable;
+        this.plainCacheable = plainCacheable;
+    }
+
+    private static boolean isCacheable(@Nullable HoverAction<?> hoverAction) {
+        if (hoverAction instanceof HoverAction.ShowText) {
+            return ((HoverAction.ShowText) hoverAction).getResult().cacheable;
+        }
+        // Items and entity references are mutable
+        return !(hoverAction instanceof HoverAction.ShowItem || hoverAction instanceof HoverAction.ShowEntity);
+    }
+
+    /**
+     * Returns whether the hash code of this {@link Text} is cached, which
+     * means it can never change.
+     *
+     * @return Whether the hash code is cached
+     */
+    boolean isCacheable() {
+        return this.cacheable;
     }
 
     /**
@@ -200,6 +267,26 @@ public final Optional<ShiftClickAction<?>> getShiftClickAction() {
      */
     public abstract TextBuilder builder();
 
+    /**
+     * Returns a plain text representation of this {@link Text} without any
+     * formatting, as returned by {@link Texts#toPlain(Text)}.
+     *
+     * <p>The plain text is computed once and then reused, unless this text
+     * contains a {@link Score} or a {@link Translatable}.</p>
+     *
+     * @return The text converted to plain text
+     */
+    public final String toPlain() {
+        String plain = this.plain;
+        if (plain == null) {
+            plain = Texts.renderPlain(this);
+            if (this.plainCacheable) {
+                this.plain = plain;
+            }
+        }
+        return plain;
+    }
+
     @Override
     public boolean equals(@Nullable Object o) {
         if (this == o) {
@@ -210,6 +297,10 @@ public boolean equals(@Nullable Object o) {
         }
 
         Text that = (Text) o;
+        // The hash codes are cached, so this is cheap after the first call
+        if (hashCode() != that.hashCode()) {
+            return false;
+        }
         return this.format.equals(that.format)
                 && this.children.equals(that.children)
                 && this.clickAction.equals(that.clickAction)
@@ -217,8 +308,33 @@ public boolean equals(@Nullable Object o) {
                 && this.shiftClickAction.equals(that.shiftClickAction);
     }
 
+    /**
+     * Returns the hash code of this {@link Text}. Since texts are immutable,
+     * the hash code is only computed once, using {@link #computeHashCode()},
+     * unless this text contains a {@link Score} or a {@link Translatable}
+     * whose arguments may change.
+     *
+     * @return The hash code of this text
+     */
     @Override
-    public int hashCode() {
+    public final int hashCode() {
+        int hash = this.hash;
+        if (hash == 0) {
+            hash = computeHashCode();
+            if (this.cacheable) {
+                this.hash = hash;
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Computes the hash code of this {@link Text}, which is cached by
+     * {@link #hashCode()}.
+     *
+     * @return The hash code of this text
+     */
+    int computeHashCode() {
         return Objects.hashCode(this.format, this.children, this.clickAction, this.hoverAction, this.shiftClickAction);
     }
 
@@ -303,8 +419,8 @@ public boolean equals(@Nullable Object o) {
         }
 
         @Override
-        public int hashCode() {
-            return Objects.hashCode(super.hashCode(), this.content);
+        int computeHashCode() {
+            return Objects.hashCode(super.computeHashCode(), this.content);
         }
 
         @Override
@@ -400,8 +516,8 @@ public boolean equals(@Nullable Object o) {
         }
 
         @Override
-        public int hashCode() {
-            return Objects.hashCode(super.hashCode(), this.key);
+        int computeHashCode() {
+            return Objects.hashCode(super.computeHashCode(), this.key);
         }
 
         @Override
@@ -427,6 +543,7 @@ public static class Translatable extends Text {
         protected final ImmutableList<Object> arguments;
 
         Translatable(Translation translation, ImmutableList<Object> arguments) {
+            super(isImmutable(checkNotNull(arguments, "arguments")));
             this.translation = checkNotNull(translation, "translation");
             this.arguments = checkNotNull(arguments, "arguments");
         }
@@ -449,11 +566,33 @@ public static class Translatable extends Text {
         Translatable(TextFormat format, ImmutableList<Text> children, @Nullable ClickAction<?> clickAction,
                 @Nullable HoverAction<?> hoverAction, @Nullable ShiftClickAction<?> shiftClickAction, Translation translation,
                 ImmutableList<Object> arguments) {
-            super(format, children, clickAction, hoverAction, shiftClickAction);
+            super(format, children, clickAction, hoverAction, shiftClickAction, isImmutable(checkNotNull(arguments, "arguments")));
             this.translation = checkNotNull(translation, "translation");
             this.arguments = checkNotNull(arguments, "arguments");
         }
 
+        /**
+         * Returns whether the given translation arguments can never change,
+         * which is the case if they are all cacheable texts, strings, boxed
+         * primitives, enum constants or {@link UUID}s.
+         *
+         * @param arguments The arguments to check
+         * @return Whether the arguments are immutable
+         */
+        private static boolean isImmutable(ImmutableList<Object> arguments) {
+            for (Object argument : arguments) {
+                if (argument instanceof Text) {
+                    if (!((Text) argument).cacheable) {
+                        return false;
+                    }
+                } else if (!(argument instanceof String || argument instanceof Enum<?> || argument instanceof UUID
+                        || Primitives.isWrapperType(argument.getClass()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
         /**
          * Returns the translation of this {@link Text}.
          *
@@ -493,8 +632,8 @@ public boolean equals(@Nullable Object o) {
         }
 
         @Override
-        public int hashCode() {
-            return Objects.hashCode(super.hashCode(), this.translation, this.arguments);
+        int computeHashCode() {
+            return Objects.hashCode(super.computeHashCode(), this.translation, this.arguments);
         }
 
         @Override
@@ -572,8 +711,8 @@ public boolean equals(@Nullable Object o) {
         }
 
         @Override
-        public int hashCode() {
-            return Objects.hashCode(super.hashCode(), this.selector);
+        int computeHashCode() {
+            return Objects.hashCode(super.computeHashCode(), this.selector);
         }
 
         @Override
@@ -664,8 +803,8 @@ public boolean equals(@Nullable Object o) {
         }
 
         @Override
-        public int hashCode() {
-            return Objects.hashCode(super.hashCode(), this.score, this.override);
+        int computeHashCode() {
+            return Objects.hashCode(super.computeHashCode(), this.score, this.override);
         }
 
         @Override
@@ -30,6 +30,9 @@
  * Represents a comparator for {@link Text} that works based on the plain version of that text,
  * or the best string representation that text can have using {@link Texts#toPlain(Text)}. Once
  * that conversion is made, the order is essentially lexicographic order with strings.
+ *
+ * <p>The plain form is cached on each text, so sorting does not convert the
+ * same text again for every comparison.</p>
  */
 public class TextPlainComparator implements Comparator<Text> {
 
@@ -40,7 +43,7 @@ public class TextPlainComparator implements Comparator<Text> {
 
     @Override
     public int compare(Text o1, Text o2) {
-        return Texts.toPlain(o1).compareTo(Texts.toPlain(o2));
+        return o1.toPlain().compareTo(o2.toPlain());
     }
 
     /**
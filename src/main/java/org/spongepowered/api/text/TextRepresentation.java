@@ -26,6 +26,9 @@
 
 import org.spongepowered.api.util.TextMessageException;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.Locale;
 
 /**
@@ -52,6 +55,74 @@ public interface TextRepresentation {
      */
     String to(Text text, Locale locale);
 
+    /**
+     * Appends the representation of the provided text, as returned by
+     * {@link #to(Text)}, to the given {@link Appendable}.
+     *
+     * <p>Implementations should override this to write the representation
+     * directly instead of building an intermediate string.</p>
+     *
+     * @param text The text to serialize
+     * @param out The appendable to write to
+     * @throws IOException If an I/O error occurs
+     */
+    default void appendTo(Text text, Appendable out) throws IOException {
+        out.append(to(text));
+    }
+
+    /**
+     * Appends the representation of the provided text for the given locale,
+     * as returned by {@link #to(Text, Locale)}, to the given
+     * {@link Appendable}.
+     *
+     * <p>Implementations should override this to write the representation
+     * directly instead of building an intermediate string.</p>
+     *
+     * @param text The text to serialize
+     * @param locale The locale to serialize this text in
+     * @param out The appendable to write to
+     * @throws IOException If an I/O error occurs
+     */
+    default void appendTo(Text text, Locale locale, Appendable out) throws IOException {
+        out.append(to(text, locale));
+    }
+
+    /**
+     * Writes the representation of the provided text, encoded as UTF-8, to
+     * the given {@link OutputStream}.
+     *
+     * <p>If this representation overrides
+     * {@link #appendTo(Text, Appendable)}, its output is encoded as it is
+     * appended, one byte at a time, so the stream should be buffered.
+     * Otherwise the string returned by {@link #to(Text)} is encoded at
+     * once.</p>
+     *
+     * @param text The text to serialize
+     * @param out The stream to write to
+     * @throws IOException If an I/O error occurs
+     */
+    default void writeUtf8(Text text, OutputStream out) throws IOException {
+        Utf8Appendable.write(this, text, out);
+    }
+
+    /**
+     * Writes the representation of the provided text, encoded as UTF-8, into
+     * the given {@link ByteBuffer}, starting at its current position.
+     *
+     * <p>If this representation overrides
+     * {@link #appendTo(Text, Appendable)}, its output is encoded into the
+     * buffer as it is appended. Otherwise the string returned by
+     * {@link #to(Text)} is encoded at once.</p>
+     *
+     * @param text The text to serialize
+     * @param buffer The buffer to write to
+     * @throws java.nio.BufferOverflowException If the buffer does not have
+     *         enough remaining space
+     */
+    default void writeUtf8(Text text, ByteBuffer buffer) {
+        Utf8Appendable.write(this, text, buffer);
+    }
+
     /**
      * Return a {@link Text} instance from an appropriately formatted string.
      *
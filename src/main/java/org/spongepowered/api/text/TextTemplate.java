@@ -0,0 +1,269 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.text;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableList;
+import org.spongepowered.api.text.Text.Placeholder;
+import org.spongepowered.api.text.action.ClickAction;
+import org.spongepowered.api.text.action.HoverAction;
+import org.spongepowered.api.text.action.ShiftClickAction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link Text} containing {@link Placeholder}s, compiled once so it can be
+ * formatted repeatedly.
+ *
+ * <p>Applying a template gives the same result as
+ * {@link Texts#format(Text, Object...)} and {@link Texts#format(Text, Map)},
+ * but only visits the parts of the text that contain placeholders. Subtrees
+ * without placeholders are reused as they are, and replacements are looked up
+ * by index rather than through a map.</p>
+ */
+public final class TextTemplate {
+
+    private final Text template;
+    private final ImmutableList<String> keys;
+    private final int[] positions;
+    @Nullable private final Node root;
+
+    private TextTemplate(Text template) {
+        this.template = template;
+        final Map<String, Integer> slots = new LinkedHashMap<String, Integer>();
+        this.root = compile(template, slots);
+        this.keys = ImmutableList.copyOf(slots.keySet());
+        this.positions = new int[this.keys.size()];
+        for (int i = 0; i < this.positions.length; i++) {
+            this.positions[i] = parsePosition(this.keys.get(i));
+        }
+    }
+
+    /**
+     * Compiles the given text into a template.
+     *
+     * @param template The text containing placeholders
+     * @return The compiled template
+     */
+    public static TextTemplate of(Text template) {
+        return new TextTemplate(checkNotNull(template, "template"));
+    }
+
+    /**
+     * Gets the text this template was compiled from.
+     *
+     * @return The template text
+     */
+    public Text getTemplate() {
+        return this.template;
+    }
+
+    /**
+     * Gets the keys of all placeholders in this template, in the order they
+     * first appear.
+     *
+     * @return The placeholder keys
+     */
+    public List<String> getKeys() {
+        return this.keys;
+    }
+
+    /**
+     * Creates a new Text instance with the placeholders replaced by position.
+     * The placeholder with the key {@code "0"} is replaced with the first
+     * replacement, {@code "1"} with the second, and so on. All placeholders
+     * without a non-null replacement are ignored.
+     *
+     * @param replacements The values available to replace the placeholders.
+     *        May contain null values to skip the placeholder
+     * @return The text with all possible placeholders replaced
+     * @see Texts#format(Text, Object...)
+     */
+    public Text apply(Object... replacements) {
+        checkNotNull(replacements, "replacements");
+        if (this.root == null) {
+            return this.template;
+        }
+        final Object[] values = new Object[this.positions.length];
+        for (int i = 0; i < values.length; i++) {
+            final int position = this.positions[i];
+            if (position >= 0 && position < replacements.length) {
+                values[i] = replacements[position];
+            }
+        }
+        return this.root.apply(values);
+    }
+
+    /**
+     * Creates a new Text instance with the placeholders replaced by key. All
+     * placeholders without a non-null replacement are ignored.
+     *
+     * @param replacements The values available to replace the placeholders
+     * @return The text with all possible placeholders replaced
+     * @see Texts#format(Text, Map)
+     */
+    public Text apply(Map<String, ?> replacements) {
+        checkNotNull(replacements, "replacements");
+        if (this.root == null || replacements.isEmpty()) {
+            return this.template;
+        }
+        final Object[] values = new Object[this.keys.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = replacements.get(this.keys.get(i));
+        }
+        return this.root.apply(values);
+    }
+
+    /**
+     * Parses the position of a placeholder key as used by
+     * {@link Texts#format(Text, Object...)}, returning -1 if the key is not a
+     * canonical non-negative integer.
+     */
+    static int parsePosition(String key) {
+        final int length = key.length();
+        if (length == 0 || length > 10 || (length > 1 && key.charAt(0) == '0')) {
+            return -1;
+        }
+        long position = 0;
+        for (int i = 0; i < length; i++) {
+            final char c = key.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            position = position * 10 + (c - '0');
+        }
+        return position <= Integer.MAX_VALUE ? (int) position : -1;
+    }
+
+    /**
+     * Compiles the given text, returning null if it contains no placeholders.
+     */
+    @Nullable
+    private static Node compile(Text text, Map<String, Integer> slots) {
+        int slot = -1;
+        Object[] formats = null;
+        if (text instanceof Placeholder) {
+            final String key = ((Placeholder) text).getKey();
+            Integer existing = slots.get(key);
+            if (existing == null) {
+                existing = slots.size();
+                slots.put(key, existing);
+            }
+            slot = existing;
+
+            // Copy color, style and text actions from placeholder
+            final List<Object> formatList = new ArrayList<Object>();
+            formatList.add(text.getFormat());
+            Optional<HoverAction<?>> hoverAction = text.getHoverAction();
+            if (hoverAction.isPresent()) {
+                formatList.add(hoverAction.get());
+            }
+            Optional<ClickAction<?>> clickAction = text.getClickAction();
+            if (clickAction.isPresent()) {
+                formatList.add(clickAction.get());
+            }
+            Optional<ShiftClickAction<?>> shiftClickAction = text.getShiftClickAction();
+            if (shiftClickAction.isPresent()) {
+                formatList.add(shiftClickAction.get());
+            }
+            formats = formatList.toArray();
+        }
+
+        final List<Text> children = text.getChildren();
+        Node[] childNodes = null;
+        for (int i = 0; i < children.size(); i++) {
+            final Node child = compile(children.get(i), slots);
+            if (child != null) {
+                if (childNodes == null) {
+                    childNodes = new Node[children.size()];
+                }
+                childNodes[i] = child;
+            }
+        }
+
+        if (slot == -1 && childNodes == null) {
+            return null;
+        }
+        return new Node(text, slot, formats, childNodes);
+    }
+
+    /**
+     * A part of the template containing at least one placeholder.
+     */
+    private static final class Node {
+
+        private final Text text;
+        private final int slot;
+        @Nullable private final Object[] formats;
+        @Nullable private final Node[] children;
+
+        Node(Text text, int slot, @Nullable Object[] formats, @Nullable Node[] children) {
+            this.text = text;
+            this.slot = slot;
+            this.formats = formats;
+            this.children = children;
+        }
+
+        Text apply(Object[] values) {
+            if (this.slot != -1) {
+                final Object replacement = values[this.slot];
+                if (replacement != null) {
+                    final Object[] args = Arrays.copyOf(this.formats, this.formats.length + 1);
+                    args[this.formats.length] = replacement;
+                    return Texts.of(args);
+                }
+            }
+            if (this.children == null) {
+                return this.text;
+            }
+
+            TextBuilder builder = null;
+            final List<Text> children = this.text.getChildren();
+            for (int i = 0; i < this.children.length; ++i) {
+                final Text child = children.get(i);
+                final Text formatted = this.children[i] == null ? child : this.children[i].apply(values);
+                if (builder == null) {
+                    if (formatted == child) {
+                        continue;
+                    }
+                    builder = this.text.builder();
+                    builder.remove(children.subList(i, children.size()));
+                }
+                builder.append(formatted);
+            }
+            return builder == null ? this.text : builder.build();
+        }
+
+    }
+
+}
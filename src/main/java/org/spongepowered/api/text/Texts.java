@@ -28,6 +28,8 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import org.spongepowered.api.scoreboard.Score;
 import org.spongepowered.api.text.Text.Placeholder;
 import org.spongepowered.api.text.action.ClickAction;
@@ -43,11 +45,11 @@
 import org.spongepowered.api.text.translation.Translation;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * Utility class to work with and create {@link Text}.
@@ -56,6 +58,7 @@ public final class Texts {
 
     private static TextFactory factory = null;
     static final Text.Literal EMPTY = new Text.Literal();
+    private static final Interner<Text> interner = Interners.newWeakInterner();
 
     private Texts() {
     }
@@ -243,10 +246,14 @@ public static Text of(Object... objects) {
      * color and the style from the placeholder are transfered to that method as
      * well.
      *
+     * <p>Use a {@link TextTemplate} instead when the same template is formatted
+     * repeatedly.</p>
+     *
      * @param template The template text in which all {@link Placeholder}s
      *        should be replaced
      * @param replacements The values available to replace the placeholders
      * @return The text with all possible placeholders replaced
+     * @see TextTemplate
      */
     public static Text format(Text template, Map<String, ?> replacements) {
         checkNotNull(template, "template");
@@ -254,7 +261,7 @@ public static Text format(Text template, Map<String, ?> replacements) {
         if (replacements.isEmpty()) {
             return template;
         }
-        return formatNoChecks(template, replacements);
+        return formatNoChecks(template, replacements::get);
     }
 
     /**
@@ -269,22 +276,21 @@ public static Text format(Text template, Map<String, ?> replacements) {
      * @param replacements The values available to replace the placeholders. May
      *        contain null values to skip the placeholder
      * @return The text with all possible placeholders replaced
+     * @see TextTemplate
      */
     public static Text format(Text template, Object... replacements) {
         checkNotNull(template, "template");
         checkNotNull(replacements, "values");
-        Map<String, Object> replacementsMap = new HashMap<String, Object>();
-        int index = 0;
-        for (Object replacement : replacements) {
-            replacementsMap.put(Integer.toString(index++), replacement);
-        }
-        return formatNoChecks(template, replacementsMap);
+        return formatNoChecks(template, key -> {
+            int position = TextTemplate.parsePosition(key);
+            return position >= 0 && position < replacements.length ? replacements[position] : null;
+        });
     }
 
-    private static Text formatNoChecks(Text template, Map<String, ?> replacements) {
+    private static Text formatNoChecks(Text template, Function<String, ?> replacements) {
         // Is this a placeholder that should be replaced?
         if (template instanceof Placeholder) {
-            Object replacement = replacements.get(((Placeholder) template).getKey());
+            Object replacement = replacements.apply(((Placeholder) template).getKey());
             // Only replace
             if (replacement != null) {
                 // Copy color, style and text actions from placeholder
@@ -325,6 +331,27 @@ private static Text formatNoChecks(Text template, Map<String, ?> replacements) {
         return builder == null ? template : builder.build();
     }
 
+    /**
+     * Returns a canonical instance equal to the given {@link Text}. Texts that
+     * are used frequently, for example as scoreboard entries or team members,
+     * can be interned so equal texts share a single instance, which makes
+     * comparing them an identity check in most cases.
+     *
+     * <p>Interned texts are only weakly referenced and are discarded once they
+     * are no longer used elsewhere. Texts whose content may change, such as
+     * texts containing a {@link Text.Score}, are returned as they are, since
+     * they may no longer be equal to their canonical instance later.</p>
+     *
+     * @param text The text to intern
+     * @return The canonical instance equal to the given text
+     */
+    public static Text intern(Text text) {
+        if (!checkNotNull(text, "text").isCacheable()) {
+            return text;
+        }
+        return interner.intern(text);
+    }
+
     /**
      * Creates a {@link TextBuilder} with empty text.
      *
@@ -540,10 +567,16 @@ public static Text join(Text separator, Text... texts) {
      * Returns a plain text representation of the {@link Text} without any
      * formatting.
      *
+     * <p>The result is cached on the text, see {@link Text#toPlain()}.</p>
+     *
      * @param text The text to convert
      * @return The text converted to plain text
      */
     public static String toPlain(Text text) {
+        return text.toPlain();
+    }
+
+    static String renderPlain(Text text) {
         return factory.toPlain(text);
     }
 
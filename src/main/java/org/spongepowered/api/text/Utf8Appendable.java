@@ -0,0 +1,192 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.text;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import javax.annotation.Nullable;
+
+/**
+ * An {@link Appendable} encoding the appended characters as UTF-8 directly
+ * into a {@link ByteBuffer} or an {@link OutputStream}, without building an
+ * intermediate string.
+ */
+final class Utf8Appendable implements Appendable {
+
+    private static final int REPLACEMENT = '?';
+
+    /**
+     * Whether a representation overrides
+     * {@link TextRepresentation#appendTo(Text, Appendable)} rather than appending the
+     * string returned by {@link TextRepresentation#to(Text)}.
+     */
+    private static final ClassValue<Boolean> appendsDirectly = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("appendTo", Text.class, Appendable.class).getDeclaringClass() != TextRepresentation.class;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
+    @Nullable private final ByteBuffer buffer;
+    @Nullable private final OutputStream out;
+    private char highSurrogate;
+
+    Utf8Appendable(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.out = null;
+    }
+
+    Utf8Appendable(OutputStream out) {
+        this.buffer = null;
+        this.out = out;
+    }
+
+    /**
+     * Writes the representation of a text to the given stream, encoded as
+     * UTF-8.
+     *
+     * @param representation The representation to use
+     * @param text The text to serialize
+     * @param out The stream to write to
+     * @throws IOException If an I/O error occurs
+     */
+    static void write(TextRepresentation representation, Text text, OutputStream out) throws IOException {
+        if (appendsDirectly.get(representation.getClass())) {
+            Utf8Appendable appendable = new Utf8Appendable(out);
+            representation.appendTo(text, appendable);
+            appendable.finish();
+        } else {
+            // The representation builds the whole string anyway
+            out.write(representation.to(text).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Writes the representation of a text into the given buffer, encoded as
+     * UTF-8.
+     *
+     * @param representation The representation to use
+     * @param text The text to serialize
+     * @param buffer The buffer to write to
+     */
+    static void write(TextRepresentation representation, Text text, ByteBuffer buffer) {
+        if (appendsDirectly.get(representation.getClass())) {
+            Utf8Appendable appendable = new Utf8Appendable(buffer);
+            try {
+                representation.appendTo(text, appendable);
+                appendable.finish();
+            } catch (IOException e) {
+                // Only thrown by the representation itself, the buffer never does
+                throw new IllegalStateException(e);
+            }
+        } else {
+            // The representation builds the whole string anyway
+            buffer.put(representation.to(text).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Override
+    public Appendable append(@Nullable CharSequence csq) throws IOException {
+        return append(csq == null ? "null" : csq, 0, csq == null ? 4 : csq.length());
+    }
+
+    @Override
+    public Appendable append(@Nullable CharSequence csq, int start, int end) throws IOException {
+        if (csq == null) {
+            csq = "null";
+        }
+        for (int i = start; i < end; i++) {
+            append(csq.charAt(i));
+        }
+        return this;
+    }
+
+    @Override
+    public Appendable append(char c) throws IOException {
+        if (this.highSurrogate != 0) {
+            final char high = this.highSurrogate;
+            this.highSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                writeCodePoint(Character.toCodePoint(high, c));
+                return this;
+            }
+            write(REPLACEMENT);
+        }
+        if (Character.isHighSurrogate(c)) {
+            this.highSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            write(REPLACEMENT);
+        } else {
+            writeCodePoint(c);
+        }
+        return this;
+    }
+
+    /**
+     * Writes out a trailing unpaired surrogate, if any.
+     *
+     * @throws IOException If an I/O error occurs
+     */
+    void finish() throws IOException {
+        if (this.highSurrogate != 0) {
+            this.highSurrogate = 0;
+            write(REPLACEMENT);
+        }
+    }
+
+    private void writeCodePoint(int codePoint) throws IOException {
+        if (codePoint < 0x80) {
+            write(codePoint);
+        } else if (codePoint < 0x800) {
+            write(0xC0 | (codePoint >> 6));
+            write(0x80 | (codePoint & 0x3F));
+        } else if (codePoint < 0x10000) {
+            write(0xE0 | (codePoint >> 12));
+            write(0x80 | ((codePoint >> 6) & 0x3F));
+            write(0x80 | (codePoint & 0x3F));
+        } else {
+            write(0xF0 | (codePoint >> 18));
+            write(0x80 | ((codePoint >> 12) & 0x3F));
+            write(0x80 | ((codePoint >> 6) & 0x3F));
+            write(0x80 | (codePoint & 0x3F));
+        }
+    }
+
+    private void write(int b) throws IOException {
+        if (this.buffer != null) {
+            this.buffer.put((byte) b);
+        } else {
+            this.out.write(b);
+        }
+    }
+
+}
@@ -61,6 +61,12 @@
  * which always uses the given position data.
  * </p>
  *
+ * <p>
+ * Implementations can resolve selectors using a {@link SelectorResolver},
+ * which uses the spatial and type indexes of the searched extents instead of
+ * testing every entity.
+ * </p>
+ *
  * @see <a href="http://minecraft.gamepedia.com/Selector#Target_selectors">
  *      Target selectors on the Minecraft Wiki</a>
  */
@@ -206,6 +212,10 @@ public interface Selector {
     /**
      * Converts this {@link Selector} to a valid selector string.
      *
+     * <p>Since selectors are immutable, implementations should compute the
+     * string once and return the same string afterwards. It is used as the
+     * cache key by {@link SelectorResolver#of(Selector)}.</p>
+     *
      * @return A valid {@link Selector} string that can be inserted into a
      *         command
      */
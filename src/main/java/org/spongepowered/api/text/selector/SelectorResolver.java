@@ -0,0 +1,226 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.text.selector;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.flowpowered.math.vector.Vector3d;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+import org.spongepowered.api.entity.Entity;
+import org.spongepowered.api.entity.EntityType;
+import org.spongepowered.api.entity.EntityTypes;
+import org.spongepowered.api.world.extent.Extent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import javax.annotation.Nullable;
+
+/**
+ * Resolves {@link Selector}s using the indexed lookups of the
+ * {@link Extent}s they are resolved in.
+ *
+ * <p>A selector is compiled once per selector string. Compiling picks the
+ * cheapest source of candidate entities: a spatial query for the
+ * {@link ArgumentTypes#POSITION position}, {@link ArgumentTypes#RADIUS radius}
+ * and {@link ArgumentTypes#DIMENSION volume} arguments, a type query for the
+ * {@link ArgumentTypes#ENTITY_TYPE type} argument, or all entities
+ * otherwise. The remaining arguments are then checked cheapest first.</p>
+ *
+ * <p>The other arguments, such as the score, team or game mode, are left to
+ * the filter passed when resolving, which is only tested for entities that
+ * passed all other checks.</p>
+ */
+public final class SelectorResolver {
+
+    private static final Cache<String, SelectorResolver> cache = CacheBuilder.newBuilder()
+            .maximumSize(256)
+            .build();
+
+    private final SelectorType type;
+    @Nullable private final Integer x;
+    @Nullable private final Integer y;
+    @Nullable private final Integer z;
+    @Nullable private final Integer minRadius;
+    @Nullable private final Integer maxRadius;
+    @Nullable private final Integer dx;
+    @Nullable private final Integer dy;
+    @Nullable private final Integer dz;
+    @Nullable private final EntityType entityType;
+    private final boolean entityTypeInverted;
+    @Nullable private final Integer count;
+
+    private SelectorResolver(Selector selector) {
+        this.type = selector.getType();
+        this.x = selector.get(ArgumentTypes.POSITION.x()).orElse(null);
+        this.y = selector.get(ArgumentTypes.POSITION.y()).orElse(null);
+        this.z = selector.get(ArgumentTypes.POSITION.z()).orElse(null);
+        this.minRadius = selector.get(ArgumentTypes.RADIUS.minimum()).orElse(null);
+        this.maxRadius = selector.get(ArgumentTypes.RADIUS.maximum()).orElse(null);
+        this.dx = selector.get(ArgumentTypes.DIMENSION.x()).orElse(null);
+        this.dy = selector.get(ArgumentTypes.DIMENSION.y()).orElse(null);
+        this.dz = selector.get(ArgumentTypes.DIMENSION.z()).orElse(null);
+
+        Optional<EntityType> entityType = selector.get(ArgumentTypes.ENTITY_TYPE);
+        if (entityType.isPresent()) {
+            this.entityType = entityType.get();
+            this.entityTypeInverted = selector.isInverted(ArgumentTypes.ENTITY_TYPE);
+        } else if (!this.type.equals(SelectorTypes.ALL_ENTITIES)) {
+            // All other selector types only select players by default
+            this.entityType = EntityTypes.PLAYER;
+            this.entityTypeInverted = false;
+        } else {
+            this.entityType = null;
+            this.entityTypeInverted = false;
+        }
+
+        Optional<Integer> count = selector.get(ArgumentTypes.COUNT);
+        if (count.isPresent()) {
+            // Math.abs(Integer.MIN_VALUE) is still negative
+            this.count = Math.max(count.get(), -Integer.MAX_VALUE);
+        } else if (this.type.equals(SelectorTypes.NEAREST_PLAYER) || this.type.equals(SelectorTypes.RANDOM)) {
+            this.count = 1;
+        } else {
+            this.count = null;
+        }
+    }
+
+    /**
+     * Gets the compiled resolver for the given selector. Resolvers are cached
+     * by the {@link Selector#toPlain() plain form} of the selector.
+     *
+     * @param selector The selector to compile
+     * @return The compiled resolver
+     */
+    public static SelectorResolver of(Selector selector) {
+        checkNotNull(selector, "selector");
+        final String key = selector.toPlain();
+        SelectorResolver resolver = cache.getIfPresent(key);
+        if (resolver == null) {
+            resolver = new SelectorResolver(selector);
+            cache.put(key, resolver);
+        }
+        return resolver;
+    }
+
+    /**
+     * Resolves the entities matching the selector in the given extents.
+     *
+     * @param extents The extents to search for entities
+     * @param origin The origin used for all position arguments not given by
+     *        the selector, usually the position of the command source
+     * @param filter The filter for all arguments not handled by this resolver
+     * @return The matching entities
+     */
+    public Set<Entity> resolve(Collection<? extends Extent> extents, Vector3d origin, Predicate<Entity> filter) {
+        checkNotNull(extents, "extents");
+        checkNotNull(origin, "origin");
+        checkNotNull(filter, "filter");
+        final Vector3d center = new Vector3d(
+                this.x != null ? this.x : origin.getX(),
+                this.y != null ? this.y : origin.getY(),
+                this.z != null ? this.z : origin.getZ());
+
+        // Cheapest checks first, the filter is usually the most expensive
+        Predicate<Entity> positional = filter;
+        if (this.minRadius != null || this.maxRadius != null) {
+            final double min = this.minRadius != null ? (double) this.minRadius * this.minRadius : -1;
+            final double max = this.maxRadius != null ? (double) this.maxRadius * this.maxRadius : Double.POSITIVE_INFINITY;
+            positional = entity -> {
+                final double distance = entity.getLocation().getPosition().distanceSquared(center);
+                return distance >= min && distance <= max && filter.test(entity);
+            };
+        }
+        Predicate<Entity> predicate = positional;
+        if (this.entityType != null) {
+            final EntityType entityType = this.entityType;
+            final boolean inverted = this.entityTypeInverted;
+            final Predicate<Entity> next = positional;
+            predicate = entity -> entity.getType().equals(entityType) != inverted && next.test(entity);
+        }
+
+        final Vector3d[] bounds = getBounds(center);
+        final List<Entity> entities = new ArrayList<Entity>();
+        for (Extent extent : extents) {
+            if (bounds != null) {
+                // Usually the smallest candidate set, the type is still checked by the predicate
+                entities.addAll(extent.getEntitiesWithin(bounds[0], bounds[1], predicate));
+            } else if (this.entityType != null && !this.entityTypeInverted) {
+                entities.addAll(extent.getEntitiesOfType(this.entityType, positional));
+            } else {
+                entities.addAll(extent.getEntities(predicate));
+            }
+        }
+
+        if (this.count != null && this.count != 0 && entities.size() > Math.abs(this.count)) {
+            if (this.type.equals(SelectorTypes.RANDOM)) {
+                Collections.shuffle(entities);
+            } else {
+                Comparator<Entity> comparator = Comparator.comparingDouble(entity -> entity.getLocation().getPosition().distanceSquared(center));
+                entities.sort(this.count < 0 ? comparator.reversed() : comparator);
+            }
+            return ImmutableSet.copyOf(entities.subList(0, Math.abs(this.count)));
+        }
+        return ImmutableSet.copyOf(entities);
+    }
+
+    /**
+     * Gets the box containing all entities possibly matching the position,
+     * radius and volume arguments, or null if they do not restrict the
+     * position.
+     */
+    @Nullable
+    private Vector3d[] getBounds(Vector3d center) {
+        Vector3d min = null;
+        Vector3d max = null;
+        if (this.dx != null || this.dy != null || this.dz != null) {
+            final Vector3d corner = center.add(
+                    this.dx != null ? this.dx : 0,
+                    this.dy != null ? this.dy : 0,
+                    this.dz != null ? this.dz : 0);
+            // The volume includes the block at its far corner
+            min = center.min(corner);
+            max = center.max(corner).add(1, 1, 1);
+        }
+        if (this.maxRadius != null) {
+            final Vector3d radius = new Vector3d(this.maxRadius, this.maxRadius, this.maxRadius);
+            final Vector3d radiusMin = center.sub(radius);
+            // The exact distance is checked by the predicate, the box only needs to contain the sphere
+            final Vector3d radiusMax = center.add(radius).add(1, 1, 1);
+            min = min == null ? radiusMin : min.max(radiusMin);
+            max = max == null ? radiusMax : max.min(radiusMax);
+        }
+        return min == null ? null : new Vector3d[] {min, max};
+    }
+
+}
@@ -24,6 +24,12 @@
  */
 package org.spongepowered.api.text.selector;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
 /**
  * Utility class to work with and create Selectors.
  */
@@ -31,6 +37,11 @@ public final class Selectors {
 
     static final SelectorFactory factory = null;
 
+    private static final Cache<String, Selector> parsed = CacheBuilder.newBuilder()
+            .maximumSize(1024)
+            .recordStats()
+            .build();
+
     private Selectors() {
     }
 
@@ -48,11 +59,39 @@ public static SelectorBuilder builder(SelectorType type) {
     /**
      * Parses a {@link Selector} from the given selector string.
      *
+     * <p>Since selectors are immutable, the parsed selectors of recently used
+     * strings are cached and returned again when the same string is parsed,
+     * for example by a command block running every tick.</p>
+     *
      * @param selector The raw selector string
-     * @return A new selector containing the given selector data
+     * @return A selector containing the given selector data
      */
     public static Selector parse(String selector) {
-        return factory.parseRawSelector(selector);
+        checkNotNull(selector, "selector");
+        Selector result = parsed.getIfPresent(selector);
+        if (result == null) {
+            // Invalid selectors are not cached, the factory throws for them
+            result = factory.parseRawSelector(selector);
+            parsed.put(selector, result);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the hit and miss statistics of the cache used by
+     * {@link #parse(String)}.
+     *
+     * @return The parse cache statistics
+     */
+    public static CacheStats getParseCacheStats() {
+        return parsed.stats();
+    }
+
+    /**
+     * Clears the cache used by {@link #parse(String)}.
+     */
+    public static void clearParseCache() {
+        parsed.invalidateAll();
     }
 
 }
@@ -0,0 +1,57 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.text.sink;
+
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.Texts;
+
+import java.util.Locale;
+
+/**
+ * Represents a recipient of messages that can accept messages already
+ * serialized to their JSON representation, allowing a broadcast to serialize
+ * a message once for all recipients sharing a locale.
+ *
+ * @see MessageSink#sendMessage(Text)
+ */
+public interface EncodedMessageReceiver {
+
+    /**
+     * Gets the locale messages sent to this receiver are serialized in.
+     *
+     * @return The locale of this receiver
+     */
+    Locale getLocale();
+
+    /**
+     * Sends a message that has already been serialized using
+     * {@link Texts#json()} in this receiver's {@link #getLocale() locale}.
+     *
+     * @param message The message that was serialized
+     * @param json The JSON representation of the message
+     */
+    void sendEncodedMessage(Text message, String json);
+
+}
@@ -25,21 +25,56 @@
 package org.spongepowered.api.text.sink;
 
 import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.Texts;
 import org.spongepowered.api.util.command.CommandSource;
 
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Map;
+
 /**
  * Represents a function that takes a message and transforms it for distribution to the given targets.
  */
 public abstract class MessageSink {
+    private static final ClassValue<Boolean> IDENTITY_TRANSFORM = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("transformMessage", CommandSource.class, Text.class).getDeclaringClass() == MessageSink.class;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
     /**
      * Process a message using this sink, transforming and sending it to the appropriate recipients.
      *
+     * <p>Recipients that are {@link EncodedMessageReceiver}s receive the
+     * message pre-serialized. The message is serialized only once for all
+     * such recipients sharing both the same transformed message instance and
+     * locale.</p>
+     *
      * @param text The text to send
      */
     public final void sendMessage(Text text) {
+        final boolean identity = isTransformIdentity();
+        final Map<Text, Map<Locale, String>> encoded = new IdentityHashMap<Text, Map<Locale, String>>();
         for (CommandSource recipient : getRecipients()) {
-            Text transformed = transformMessage(recipient, text);
-            recipient.sendMessage(transformed == null ? text : transformed);
+            Text transformed = identity ? text : transformMessage(recipient, text);
+            if (transformed == null) {
+                transformed = text;
+            }
+            if (recipient instanceof EncodedMessageReceiver) {
+                final EncodedMessageReceiver receiver = (EncodedMessageReceiver) recipient;
+                final Text message = transformed;
+                final String json = encoded.computeIfAbsent(message, key -> new HashMap<Locale, String>())
+                        .computeIfAbsent(receiver.getLocale(), locale -> Texts.json().to(message, locale));
+                receiver.sendEncodedMessage(message, json);
+            } else {
+                recipient.sendMessage(transformed);
+            }
         }
     }
 
@@ -54,6 +89,20 @@ public Text transformMessage(CommandSource target, Text text) {
         return text;
     }
 
+    /**
+     * Return whether {@link #transformMessage(CommandSource, Text)} returns
+     * its input unchanged for every target, so {@link #sendMessage(Text)} can
+     * skip transforming the message for each recipient.
+     *
+     * <p>By default, this returns true only if this sink does not override
+     * {@link #transformMessage(CommandSource, Text)}.</p>
+     *
+     * @return Whether this sink never transforms messages
+     */
+    public boolean isTransformIdentity() {
+        return IDENTITY_TRANSFORM.get(getClass());
+    }
+
     /**
      * Return all command sources that will receive messages sent through to this sink.
      *
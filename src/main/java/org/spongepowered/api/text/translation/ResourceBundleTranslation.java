@@ -26,9 +26,15 @@
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
 import java.util.Locale;
 import java.util.MissingResourceException;
 import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 
 /**
@@ -52,8 +58,26 @@
  *     }
  *
  * </pre>
+ *
+ * <p>Translations are looked up once per key and locale and then cached,
+ * together with a compiled form of the format pattern. The cache is shared
+ * between all translations using the same bundle function, so the function
+ * should be kept in a constant as shown above. Missing translations are
+ * cached as well. Call {@link #clearCache(Function)} after reloading the
+ * underlying bundles.</p>
  */
 public class ResourceBundleTranslation implements Translation {
+
+    private static final LoadingCache<Function<Locale, ResourceBundle>, BundleFormats> formats = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build(new CacheLoader<Function<Locale, ResourceBundle>, BundleFormats>() {
+                @Override
+                public BundleFormats load(Function<Locale, ResourceBundle> key) throws Exception {
+                    // The value must not reference the key, or the weak key would never be collected
+                    return new BundleFormats();
+                }
+            });
+
     private final String key;
     private final Function<Locale, ResourceBundle> bundleFunction;
 
@@ -75,17 +99,69 @@ public String getId() {
 
     @Override
     public String get(Locale locale) {
-        checkNotNull(locale, "locale");
-        try {
-            ResourceBundle bundle = this.bundleFunction.apply(locale);
-            return bundle == null ? this.key : bundle.getString(this.key);
-        } catch (MissingResourceException ex) {
-            return this.key;
-        }
+        return getFormat(locale).getPattern();
     }
 
     @Override
     public String get(Locale locale, Object... args) {
-        return String.format(locale, get(locale), args);
+        return getFormat(locale).format(locale, args);
     }
+
+    private TranslationFormat getFormat(Locale locale) {
+        checkNotNull(locale, "locale");
+        return formats.getUnchecked(this.bundleFunction).get(this.bundleFunction, this.key, locale);
+    }
+
+    /**
+     * Clears the cached translations of all bundle functions.
+     */
+    public static void clearCache() {
+        formats.invalidateAll();
+    }
+
+    /**
+     * Clears the cached translations of the given bundle function. This should
+     * be called after the bundles it returns have been reloaded, for example
+     * using {@link ResourceBundle#clearCache()}.
+     *
+     * @param bundleFunction The bundle function to clear the translations of
+     */
+    public static void clearCache(Function<Locale, ResourceBundle> bundleFunction) {
+        formats.invalidate(checkNotNull(bundleFunction, "bundleFunction"));
+    }
+
+    /**
+     * The cached translation formats of a single bundle function. It does not
+     * keep a reference to the function itself, nor to its bundles.
+     */
+    private static final class BundleFormats {
+
+        private final ConcurrentMap<Locale, ConcurrentMap<String, TranslationFormat>> formats =
+                new ConcurrentHashMap<Locale, ConcurrentMap<String, TranslationFormat>>();
+
+        TranslationFormat get(Function<Locale, ResourceBundle> bundleFunction, String key, Locale locale) {
+            ConcurrentMap<String, TranslationFormat> localeFormats = this.formats.get(locale);
+            if (localeFormats == null) {
+                localeFormats = this.formats.computeIfAbsent(locale, l -> new ConcurrentHashMap<String, TranslationFormat>());
+            }
+            TranslationFormat format = localeFormats.get(key);
+            if (format == null) {
+                format = localeFormats.computeIfAbsent(key, k -> load(bundleFunction, k, locale));
+            }
+            return format;
+        }
+
+        private static TranslationFormat load(Function<Locale, ResourceBundle> bundleFunction, String key, Locale locale) {
+            ResourceBundle bundle;
+            try {
+                bundle = bundleFunction.apply(locale);
+            } catch (MissingResourceException e) {
+                bundle = null;
+            }
+            // Missing translations are cached with the key as the pattern
+            return new TranslationFormat(bundle != null && bundle.containsKey(key) ? bundle.getString(key) : key);
+        }
+
+    }
+
 }
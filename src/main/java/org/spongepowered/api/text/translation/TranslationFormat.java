@@ -0,0 +1,154 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.text.translation;
+
+import java.util.ArrayList;
+import java.util.Formattable;
+import java.util.List;
+import java.util.Locale;
+
+import javax.annotation.Nullable;
+
+/**
+ * A translation pattern compiled for repeated formatting.
+ *
+ * <p>Patterns using only {@code %s}, {@code %1$s}, {@code %%} and {@code %n}
+ * are split into literal parts and argument indices once, so formatting them
+ * only needs to concatenate the parts. All other patterns, as well as
+ * {@link Formattable} arguments and missing arguments, are formatted using
+ * {@link String#format(Locale, String, Object...)}.</p>
+ */
+final class TranslationFormat {
+
+    private final String pattern;
+    /**
+     * The literal {@link String} parts and {@link Integer} argument indices of
+     * the pattern, or null if the pattern must be formatted using
+     * {@link String#format(Locale, String, Object...)}.
+     */
+    @Nullable private final Object[] parts;
+
+    TranslationFormat(String pattern) {
+        this.pattern = pattern;
+        this.parts = compile(pattern);
+    }
+
+    /**
+     * Gets the uncompiled pattern.
+     *
+     * @return The pattern
+     */
+    String getPattern() {
+        return this.pattern;
+    }
+
+    /**
+     * Formats the pattern with the given arguments.
+     *
+     * @param locale The locale to format in
+     * @param args The arguments to format
+     * @return The formatted string
+     */
+    String format(Locale locale, Object... args) {
+        final Object[] parts = this.parts;
+        if (parts == null) {
+            return String.format(locale, this.pattern, args);
+        }
+        if (parts.length == 1 && parts[0] instanceof String) {
+            return (String) parts[0];
+        }
+
+        final StringBuilder builder = new StringBuilder(this.pattern.length() + 16 * args.length);
+        for (Object part : parts) {
+            if (part instanceof String) {
+                builder.append((String) part);
+            } else {
+                final int index = (Integer) part;
+                if (index >= args.length || args[index] instanceof Formattable) {
+                    // Let the formatter handle (or reject) these cases
+                    return String.format(locale, this.pattern, args);
+                }
+                builder.append(args[index]);
+            }
+        }
+        return builder.toString();
+    }
+
+    @Nullable
+    private static Object[] compile(String pattern) {
+        final List<Object> parts = new ArrayList<Object>();
+        final StringBuilder literal = new StringBuilder();
+        int ordinaryIndex = 0;
+        int i = 0;
+        while (i < pattern.length()) {
+            final char c = pattern.charAt(i++);
+            if (c != '%') {
+                literal.append(c);
+                continue;
+            }
+            if (i >= pattern.length()) {
+                return null;
+            }
+
+            int index;
+            char conversion = pattern.charAt(i++);
+            if (conversion == '%') {
+                literal.append('%');
+                continue;
+            } else if (conversion == 'n') {
+                literal.append(System.lineSeparator());
+                continue;
+            } else if (conversion == 's') {
+                index = ordinaryIndex++;
+            } else if (conversion >= '1' && conversion <= '9') {
+                index = conversion - '0';
+                while (i < pattern.length() && pattern.charAt(i) >= '0' && pattern.charAt(i) <= '9') {
+                    index = index * 10 + pattern.charAt(i++) - '0';
+                    if (index > 1000) {
+                        return null;
+                    }
+                }
+                if (i + 1 >= pattern.length() || pattern.charAt(i) != '$' || pattern.charAt(i + 1) != 's') {
+                    return null;
+                }
+                i += 2;
+                index--;
+            } else {
+                return null;
+            }
+
+            if (literal.length() > 0) {
+                parts.add(literal.toString());
+                literal.setLength(0);
+            }
+            parts.add(index);
+        }
+        if (literal.length() > 0 || parts.isEmpty()) {
+            parts.add(literal.toString());
+        }
+        return parts.toArray();
+    }
+
+}
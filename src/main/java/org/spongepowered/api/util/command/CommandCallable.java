@@ -29,6 +29,7 @@
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A low-level interface for commands that can be executed. For almost all use
@@ -52,6 +53,30 @@ public interface CommandCallable {
      */
     CommandResult process(CommandSource source, String arguments) throws CommandException;
 
+    /**
+     * Execute the command based on input arguments, without waiting for the
+     * command to finish.
+     *
+     * <p>The returned future is completed with the result of the command, or
+     * exceptionally with the {@link CommandException} it failed with.
+     * Commands that do their work asynchronously complete it on the main
+     * thread. By default, this calls {@link #process(CommandSource, String)}
+     * and returns an already completed future.</p>
+     *
+     * @param source The caller of the command
+     * @param arguments The raw arguments for this command
+     * @return A future completed with the result of the command
+     */
+    default CompletableFuture<CommandResult> processAsync(CommandSource source, String arguments) {
+        final CompletableFuture<CommandResult> result = new CompletableFuture<CommandResult>();
+        try {
+            result.complete(process(source, arguments));
+        } catch (CommandException | RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
     /**
      * Get a list of suggestions based on input.
      *
@@ -65,6 +90,30 @@ public interface CommandCallable {
      */
     List<String> getSuggestions(CommandSource source, String arguments) throws CommandException;
 
+    /**
+     * Get a list of suggestions based on input, without waiting for them to
+     * be computed.
+     *
+     * <p>The returned future is completed with the suggestions, or
+     * exceptionally with the {@link CommandException} computing them failed
+     * with. By default, this calls
+     * {@link #getSuggestions(CommandSource, String)} and returns an already
+     * completed future.</p>
+     *
+     * @param source The command source
+     * @param arguments The arguments entered up to this point
+     * @return A future completed with a list of suggestions
+     */
+    default CompletableFuture<List<String>> getSuggestionsAsync(CommandSource source, String arguments) {
+        final CompletableFuture<List<String>> result = new CompletableFuture<List<String>>();
+        try {
+            result.complete(getSuggestions(source, arguments));
+        } catch (CommandException | RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
     /**
      * Test whether this command can probably be executed by the given source.
      *
@@ -28,26 +28,50 @@
 import static org.spongepowered.api.util.SpongeApiTranslationHelper.t;
 
 import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Multimap;
 import org.spongepowered.api.util.command.CommandException;
 import org.spongepowered.api.util.command.CommandSource;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Map;
 import java.util.Optional;
 
+import javax.annotation.Nullable;
+
 /**
  * Context that a command is executed in.
  * This object stores parsed arguments from other commands
+ *
+ * <p>Contexts created by {@link CompiledArguments#createContext()} store the
+ * values of keys known in advance in preallocated slots, and fall back to a
+ * multimap for any other key.</p>
  */
 public final class CommandContext {
-    private final Multimap<String, Object> parsedArgs;
+    private static final Map<String, Integer> NO_SLOTS = ImmutableMap.of();
+
+    private final Map<String, Integer> slots;
+    private final Object[] slotValues;
+    @Nullable
+    private Multimap<String, Object> parsedArgs;
 
     /**
      * Create a new empty CommandContext.
      */
     public CommandContext() {
-        this.parsedArgs = ArrayListMultimap.create();
+        this(NO_SLOTS);
+    }
+
+    /**
+     * Create a new empty CommandContext with a slot for each of the given keys.
+     *
+     * @param slots The slot index for each known key
+     */
+    CommandContext(Map<String, Integer> slots) {
+        this.slots = slots;
+        this.slotValues = new Object[slots.size()];
     }
 
     /**
@@ -59,6 +83,20 @@ public CommandContext() {
      */
     @SuppressWarnings("unchecked")
     public <T> Collection<T> getAll(String key) {
+        final Integer slot = this.slots.get(key);
+        if (slot != null) {
+            final Object value = this.slotValues[slot];
+            if (value == null) {
+                return Collections.emptyList();
+            } else if (value instanceof MultipleValues) {
+                return Collections.unmodifiableCollection((Collection<T>) value);
+            } else {
+                return Collections.singletonList((T) value);
+            }
+        }
+        if (this.parsedArgs == null) {
+            return Collections.emptyList();
+        }
         return Collections.unmodifiableCollection((Collection<T>) this.parsedArgs.get(key));
     }
 
@@ -71,6 +109,14 @@ public <T> Collection<T> getAll(String key) {
      */
     @SuppressWarnings("unchecked")
     public <T> Optional<T> getOne(String key) {
+        final Integer slot = this.slots.get(key);
+        if (slot != null) {
+            final Object value = this.slotValues[slot];
+            return value instanceof MultipleValues ? Optional.<T>empty() : Optional.ofNullable((T) value);
+        }
+        if (this.parsedArgs == null) {
+            return Optional.empty();
+        }
         Collection<Object> values = this.parsedArgs.get(key);
         if (values.size() != 1) {
             return Optional.empty();
@@ -87,6 +133,21 @@ public <T> Optional<T> getOne(String key) {
      */
     public void putArg(String key, Object value) {
         checkNotNull(value, "value");
+        final Integer slot = this.slots.get(key);
+        if (slot != null) {
+            final Object current = this.slotValues[slot];
+            if (current == null) {
+                this.slotValues[slot] = value;
+            } else if (current instanceof MultipleValues) {
+                ((MultipleValues) current).add(value);
+            } else {
+                this.slotValues[slot] = new MultipleValues(current, value);
+            }
+            return;
+        }
+        if (this.parsedArgs == null) {
+            this.parsedArgs = ArrayListMultimap.create();
+        }
         this.parsedArgs.put(key, value);
     }
 
@@ -110,6 +171,24 @@ public void checkPermission(CommandSource commander, String permission) throws C
      * @return whether there are any values present
      */
     public boolean hasAny(String key) {
-        return this.parsedArgs.containsKey(key);
+        final Integer slot = this.slots.get(key);
+        if (slot != null) {
+            return this.slotValues[slot] != null;
+        }
+        return this.parsedArgs != null && this.parsedArgs.containsKey(key);
+    }
+
+    /**
+     * Marks a slot holding more than one value, as opposed to a single value
+     * that happens to be a list.
+     */
+    private static final class MultipleValues extends ArrayList<Object> {
+        private static final long serialVersionUID = 1L;
+
+        MultipleValues(Object first, Object second) {
+            super(4);
+            add(first);
+            add(second);
+        }
     }
 }
@@ -29,6 +29,7 @@
 import org.spongepowered.api.util.command.CommandSource;
 
 import java.util.List;
+import java.util.Set;
 
 import javax.annotation.Nullable;
 
@@ -126,6 +127,31 @@ public void parse(CommandSource source, CommandArgs args, CommandContext context
      */
     public abstract List<String> complete(CommandSource src, CommandArgs args, CommandContext context);
 
+    /**
+     * Return an element that parses exactly like this one, but is better
+     * suited for repeated parsing. Compound elements may flatten their nested
+     * elements. Used by {@link CompiledArguments}.
+     *
+     * @return The compiled element
+     */
+    CommandElement compile() {
+        return this;
+    }
+
+    /**
+     * Add all keys this element may store values under in a
+     * {@link CommandContext} to the given set. Used by
+     * {@link CompiledArguments}.
+     *
+     * @param keys The set to add keys to
+     */
+    void collectKeys(Set<String> keys) {
+        final String key = getUntranslatedKey();
+        if (key != null) {
+            keys.add(key);
+        }
+    }
+
     /**
      * Return a usage message for this specific argument.
      *
@@ -42,16 +42,20 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
 
 class CommandFlags extends CommandElement {
+    private static final int SHORT_FLAG_TABLE_SIZE = 128;
+
     @Nullable
     private final CommandElement childElement;
     private final Map<List<String>, CommandElement> usageFlags;
     private final Map<String, CommandElement> shortFlags;
+    private final CommandElement[] shortFlagTable = new CommandElement[SHORT_FLAG_TABLE_SIZE];
     private final Map<String, CommandElement> longFlags;
     private final UnknownFlagBehavior unknownShortFlagBehavior;
     private final UnknownFlagBehavior unknownLongFlagBehavior;
@@ -68,6 +72,35 @@ protected CommandFlags(@Nullable CommandElement childElement, Map<List<String>,
         this.unknownShortFlagBehavior = unknownShortFlagBehavior;
         this.unknownLongFlagBehavior = unknownLongFlagBehavior;
         this.anchorFlags = anchorFlags;
+        for (Map.Entry<String, CommandElement> flag : shortFlags.entrySet()) {
+            final char flagChar = flag.getKey().charAt(0);
+            if (flagChar < SHORT_FLAG_TABLE_SIZE) {
+                this.shortFlagTable[flagChar] = flag.getValue();
+            }
+        }
+    }
+
+    @Nullable
+    private CommandElement getShortFlag(char flagChar) {
+        return flagChar < SHORT_FLAG_TABLE_SIZE ? this.shortFlagTable[flagChar] : this.shortFlags.get(String.valueOf(flagChar));
+    }
+
+    @Override
+    CommandElement compile() {
+        return new CommandFlags(this.childElement == null ? null : this.childElement.compile(), this.usageFlags, this.shortFlags, this.longFlags,
+                this.unknownShortFlagBehavior, this.unknownLongFlagBehavior, this.anchorFlags);
+    }
+
+    @Override
+    void collectKeys(Set<String> keys) {
+        for (CommandElement element : this.usageFlags.values()) {
+            if (element != null) {
+                element.collectKeys(keys);
+            }
+        }
+        if (this.childElement != null) {
+            this.childElement.collectKeys(keys);
+        }
     }
 
     @Override
@@ -151,9 +184,9 @@ private boolean parseLongFlag(CommandSource source, String longFlag, CommandArgs
     @SuppressWarnings("fallthrough")
     private boolean parseShortFlags(CommandSource source, String shortFlags, CommandArgs args, CommandContext context) throws ArgumentParseException {
         for (int i = 0; i < shortFlags.length(); ++i) {
-            final String flagChar = shortFlags.substring(i, i + 1);
-            CommandElement element = this.shortFlags.get(flagChar);
+            CommandElement element = getShortFlag(shortFlags.charAt(i));
             if (element == null) {
+                final String flagChar = shortFlags.substring(i, i + 1);
                 switch (this.unknownShortFlagBehavior) {
                     case IGNORE:
                         if (i == 0) {
@@ -300,8 +333,7 @@ private List<String> tabCompleteLongFlag(String longFlag, CommandSource src, Com
     @Nullable
     private List<String> tabCompleteShortFlags(String shortFlags, CommandSource src, CommandArgs args, CommandContext context) {
         for (int i = 0; i < shortFlags.length(); ++i) {
-            final String flagChar = shortFlags.substring(i, i + 1);
-            CommandElement element = this.shortFlags.get(flagChar);
+            CommandElement element = getShortFlag(shortFlags.charAt(i));
             if (element == null) {
                 if (i == 0 && this.unknownShortFlagBehavior == UnknownFlagBehavior.ACCEPT_VALUE) {
                     args.nextIfPresent();
@@ -487,8 +519,9 @@ public Builder setAnchorFlags(boolean anchorFlags) {
          * @return the new command element
          */
         public CommandElement buildWith(CommandElement wrapped) {
-            return new CommandFlags(wrapped, this.usageFlags, this.shortFlags, this.longFlags, this.unknownShortFlagBehavior,
-                    this.unknownLongFlagBehavior, this.anchorFlags);
+            return new CommandFlags(wrapped, new HashMap<List<String>, CommandElement>(this.usageFlags),
+                    new HashMap<String, CommandElement>(this.shortFlags), new HashMap<String, CommandElement>(this.longFlags),
+                    this.unknownShortFlagBehavior, this.unknownLongFlagBehavior, this.anchorFlags);
         }
     }
 }
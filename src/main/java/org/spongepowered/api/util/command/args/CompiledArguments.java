@@ -0,0 +1,107 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.util.command.args;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableMap;
+import org.spongepowered.api.util.command.CommandSource;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A command element tree prepared once for repeated parsing.
+ *
+ * <p>Compiling flattens nested sequences and alternatives so parsing does
+ * not recurse through wrapper elements, and assigns every key the tree may
+ * store values under to a slot so that contexts created by
+ * {@link #createContext()} avoid a multimap per invocation.</p>
+ */
+public final class CompiledArguments {
+    private final CommandElement element;
+    private final CommandElement compiled;
+    private final Map<String, Integer> slots;
+
+    private CompiledArguments(CommandElement element) {
+        this.element = element;
+        this.compiled = element.compile();
+
+        final Set<String> keys = new LinkedHashSet<String>();
+        this.compiled.collectKeys(keys);
+        final ImmutableMap.Builder<String, Integer> slots = ImmutableMap.builder();
+        int slot = 0;
+        for (String key : keys) {
+            slots.put(key, slot++);
+        }
+        this.slots = slots.build();
+    }
+
+    /**
+     * Compile the given command element.
+     *
+     * @param element The element to compile
+     * @return The compiled arguments
+     */
+    public static CompiledArguments compile(CommandElement element) {
+        checkNotNull(element, "element");
+        return new CompiledArguments(element);
+    }
+
+    /**
+     * Get the element these arguments were compiled from.
+     *
+     * @return The original element
+     */
+    public CommandElement getElement() {
+        return this.element;
+    }
+
+    /**
+     * Create a new, empty context with a slot for each key known to these
+     * arguments.
+     *
+     * @return The new context
+     */
+    public CommandContext createContext() {
+        return new CommandContext(this.slots);
+    }
+
+    /**
+     * Parse the given arguments into a context. This is equivalent to calling
+     * {@link CommandElement#parse(CommandSource, CommandArgs, CommandContext)}
+     * on the original element.
+     *
+     * @param source The source to parse for
+     * @param args The args to extract from
+     * @param context The context to supply to
+     * @throws ArgumentParseException if unable to extract a value
+     */
+    public void parse(CommandSource source, CommandArgs args, CommandContext context) throws ArgumentParseException {
+        this.compiled.parse(source, args, context);
+    }
+
+}
@@ -32,6 +32,8 @@
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Ordering;
+import com.google.common.collect.TreeMultimap;
 import org.spongepowered.api.CatalogType;
 import org.spongepowered.api.Game;
 import org.spongepowered.api.entity.living.player.Player;
@@ -52,10 +54,12 @@
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -219,6 +223,27 @@ public void parse(CommandSource source, CommandArgs args, CommandContext context
             }
         }
 
+        @Override
+        CommandElement compile() {
+            final ImmutableList.Builder<CommandElement> flattened = ImmutableList.builder();
+            for (CommandElement element : this.elements) {
+                element = element.compile();
+                if (element instanceof SequenceCommandElement) { // Nested sequences parse exactly like their elements inlined
+                    flattened.addAll(((SequenceCommandElement) element).elements);
+                } else {
+                    flattened.add(element);
+                }
+            }
+            return new SequenceCommandElement(flattened.build());
+        }
+
+        @Override
+        void collectKeys(Set<String> keys) {
+            for (CommandElement element : this.elements) {
+                element.collectKeys(keys);
+            }
+        }
+
         @Override
         protected Object parseValue(CommandSource source, CommandArgs args) throws ArgumentParseException {
             return null;
@@ -376,6 +401,27 @@ public void parse(CommandSource source, CommandArgs args, CommandContext context
             }
         }
 
+        @Override
+        CommandElement compile() {
+            final ImmutableList.Builder<CommandElement> flattened = ImmutableList.builder();
+            for (CommandElement element : this.elements) {
+                element = element.compile();
+                if (element instanceof FirstParsingCommandElement) { // Nested alternatives are tried in the same order when inlined
+                    flattened.addAll(((FirstParsingCommandElement) element).elements);
+                } else {
+                    flattened.add(element);
+                }
+            }
+            return new FirstParsingCommandElement(flattened.build());
+        }
+
+        @Override
+        void collectKeys(Set<String> keys) {
+            for (CommandElement element : this.elements) {
+                element.collectKeys(keys);
+            }
+        }
+
         @Override
         protected Object parseValue(CommandSource source, CommandArgs args) throws ArgumentParseException {
             return null;
@@ -507,6 +553,16 @@ protected Object parseValue(CommandSource source, CommandArgs args) throws Argum
             return args.hasNext() ? null : this.element.parseValue(source, args);
         }
 
+        @Override
+        CommandElement compile() {
+            return new OptionalCommandElement(this.element.compile(), this.value, this.considerInvalidFormatEmpty);
+        }
+
+        @Override
+        void collectKeys(Set<String> keys) {
+            this.element.collectKeys(keys);
+        }
+
         @Override
         public List<String> complete(CommandSource src, CommandArgs args, CommandContext context) {
             return this.element.complete(src, args, context);
@@ -548,6 +604,16 @@ public void parse(CommandSource source, CommandArgs args, CommandContext context
             }
         }
 
+        @Override
+        CommandElement compile() {
+            return new RepeatedCommandElement(this.element.compile(), this.times);
+        }
+
+        @Override
+        void collectKeys(Set<String> keys) {
+            this.element.collectKeys(keys);
+        }
+
         @Override
         protected Object parseValue(CommandSource source, CommandArgs args) throws ArgumentParseException {
             return null;
@@ -600,6 +666,16 @@ public void parse(CommandSource source, CommandArgs args, CommandContext context
             }
         }
 
+        @Override
+        CommandElement compile() {
+            return new AllOfCommandElement(this.element.compile());
+        }
+
+        @Override
+        void collectKeys(Set<String> keys) {
+            this.element.collectKeys(keys);
+        }
+
         @Override
         protected Object parseValue(CommandSource source, CommandArgs args) throws ArgumentParseException {
             return null;
@@ -1115,6 +1191,8 @@ public List<String> complete(CommandSource src, CommandArgs args, CommandContext
     private static class CatalogedTypeCommandElement<T extends CatalogType> extends PatternMatchingCommandElement {
         private final Game game;
         private final Class<T> catalogType;
+        @Nullable
+        private volatile CatalogIdIndex index;
 
         protected CatalogedTypeCommandElement(Text key, Game game, Class<T> catalogType) {
             super(key);
@@ -1124,11 +1202,22 @@ protected CatalogedTypeCommandElement(Text key, Game game, Class<T> catalogType)
 
         @Override
         protected Iterable<String> getChoices(CommandSource source) {
-            return this.game.getRegistry().getAllOf(this.catalogType).stream()
-                .map(input -> {
-                return input == null ? null : input.getId(); // TODO: ids or names?
-                })
-                .collect(Collectors.toList());
+            return getIndex().ids.values();
+        }
+
+        @Override
+        protected Iterable<String> getChoicesStartingWith(CommandSource source, String prefix) {
+            // Every id starting with the prefix sorts between the prefix itself and the prefix followed by the highest char
+            return Iterables.concat(getIndex().ids.asMap().subMap(prefix, true, prefix + Character.MAX_VALUE, false).values());
+        }
+
+        private CatalogIdIndex getIndex() {
+            final Collection<T> types = this.game.getRegistry().getAllOf(this.catalogType);
+            CatalogIdIndex index = this.index;
+            if (index == null || !index.matches(types)) {
+                this.index = index = new CatalogIdIndex(types);
+            }
+            return index;
         }
 
         @Override
@@ -1141,6 +1230,42 @@ protected Object getValue(String choice) throws IllegalArgumentException {
         }
     }
 
+    /**
+     * Case-insensitively sorted ids of a catalog. Ids differing only by case
+     * are kept under the same key.
+     *
+     * <p>The index is only rebuilt when the ids of the registered types
+     * change, which is checked with a hash lookup per type instead of
+     * sorting them again on each lookup.</p>
+     */
+    private static final class CatalogIdIndex {
+        final Set<String> idSet = new HashSet<String>();
+        final TreeMultimap<String, String> ids = TreeMultimap.create(String.CASE_INSENSITIVE_ORDER, Ordering.<String>natural());
+
+        CatalogIdIndex(Collection<? extends CatalogType> types) {
+            for (CatalogType type : types) {
+                if (type != null) {
+                    this.idSet.add(type.getId());
+                    this.ids.put(type.getId(), type.getId()); // TODO: ids or names?
+                }
+            }
+        }
+
+        boolean matches(Collection<? extends CatalogType> types) {
+            int count = 0;
+            for (CatalogType type : types) {
+                if (type != null) {
+                    if (!this.idSet.contains(type.getId())) {
+                        return false;
+                    }
+                    count++;
+                }
+            }
+            // Every id is known, so the sets are equal unless one was removed
+            return count == this.idSet.size();
+        }
+    }
+
     /**
      * Restricts the given command element to only insert one value into the context at the provided key.
      *
@@ -1167,6 +1292,11 @@ public void parse(CommandSource source, CommandArgs args, CommandContext context
             }
         }
 
+        @Override
+        void collectKeys(Set<String> keys) {
+            this.element.collectKeys(keys);
+        }
+
         @Override
         public Text getUsage(CommandSource src) {
             return this.element.getUsage(src);
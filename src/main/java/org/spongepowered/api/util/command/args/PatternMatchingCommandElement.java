@@ -26,6 +26,9 @@
 
 import static org.spongepowered.api.util.SpongeApiTranslationHelper.t;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import org.spongepowered.api.text.Text;
@@ -39,9 +42,27 @@
 
 /**
  * Abstract command element that matches values based on pattern.
+ *
+ * <p>Input without any regular expression metacharacters is matched as a
+ * case-insensitive literal prefix through
+ * {@link #getChoicesStartingWith(CommandSource, String)}, which implementations
+ * with large choice sets may override with an indexed lookup. Other input is
+ * compiled into a pattern, and recently used patterns are cached.</p>
  */
 public abstract class PatternMatchingCommandElement extends CommandElement {
     private static final Text nullKeyArg = t("argument");
+    private static final String REGEX_METACHARACTERS = "\\^$.|?*+()[]{}";
+    private static final LoadingCache<String, Pattern> patternCache = CacheBuilder.newBuilder()
+            .maximumSize(256)
+            .build(new CacheLoader<String, Pattern>() {
+                @Override
+                public Pattern load(String input) {
+                    if (!input.startsWith("^")) { // Anchor matches to the beginning -- this lets us use find()
+                        input = "^" + input;
+                    }
+                    return Pattern.compile(input, Pattern.CASE_INSENSITIVE);
+                }
+            });
 
     protected PatternMatchingCommandElement(@Nullable Text key) {
         super(key);
@@ -51,8 +72,7 @@ protected PatternMatchingCommandElement(@Nullable Text key) {
     @Override
     protected Object parseValue(CommandSource source, CommandArgs args) throws ArgumentParseException {
         final String unformattedPattern = args.next();
-        Pattern pattern = getFormattedPattern(unformattedPattern);
-        Iterable<String> filteredChoices = Iterables.filter(getChoices(source), element -> pattern.matcher(element).find());
+        Iterable<String> filteredChoices = getMatchingChoices(source, unformattedPattern);
         for (String el : filteredChoices) { // Match a single value
             if (el.equalsIgnoreCase(unformattedPattern)) {
                 return getValue(el);
@@ -69,20 +89,28 @@ protected Object parseValue(CommandSource source, CommandArgs args) throws Argum
 
     @Override
     public List<String> complete(CommandSource src, CommandArgs args, CommandContext context) {
-        Iterable<String> choices = getChoices(src);
         final Optional<String> nextArg = args.nextIfPresent();
         if (nextArg.isPresent()) {
-            choices = Iterables.filter(choices, input -> getFormattedPattern(nextArg.get()).matcher(input).find());
+            return ImmutableList.copyOf(getMatchingChoices(src, nextArg.get()));
         }
-        return ImmutableList.copyOf(choices);
+        return ImmutableList.copyOf(getChoices(src));
     }
 
-    private Pattern getFormattedPattern(String input) {
-        if (!input.startsWith("^")) { // Anchor matches to the beginning -- this lets us use find()
-            input = "^" + input;
+    private Iterable<String> getMatchingChoices(CommandSource source, String input) {
+        if (isLiteral(input)) {
+            return getChoicesStartingWith(source, input);
         }
-        return Pattern.compile(input, Pattern.CASE_INSENSITIVE);
+        final Pattern pattern = patternCache.getUnchecked(input);
+        return Iterables.filter(getChoices(source), element -> element != null && pattern.matcher(element).find());
+    }
 
+    private static boolean isLiteral(String input) {
+        for (int i = 0; i < input.length(); i++) {
+            if (REGEX_METACHARACTERS.indexOf(input.charAt(i)) != -1) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -93,6 +121,23 @@ private Pattern getFormattedPattern(String input) {
      */
     protected abstract Iterable<String> getChoices(CommandSource source);
 
+    /**
+     * Get the available choices for this command source that start with the
+     * given prefix, case-insensitively. The prefix never contains regular
+     * expression metacharacters.
+     *
+     * <p>By default this filters {@link #getChoices(CommandSource)}.
+     * Implementations backed by large, rarely changing choice sets may
+     * override this to look the prefix up in a sorted index.</p>
+     *
+     * @param source The source requesting choices
+     * @param prefix The literal prefix choices must start with
+     * @return the matching choices
+     */
+    protected Iterable<String> getChoicesStartingWith(CommandSource source, String prefix) {
+        return Iterables.filter(getChoices(source), element -> element != null && element.regionMatches(true, 0, prefix, 0, prefix.length()));
+    }
+
     /**
      * Get the value for a given choice. For any result in {@link #getChoices(CommandSource)}, this must return a non-null value. Otherwise, an
      * {@link IllegalArgumentException} may be throw.
@@ -77,10 +77,7 @@ public List<SingleArg> tokenize(String arguments, boolean lenient) throws Argume
     // Parsing methods
 
     private void skipWhiteSpace(TokenizerState state) throws ArgumentParseException {
-        if (!state.hasMore()) {
-            return;
-        }
-        while (Character.isWhitespace(state.peek())) {
+        while (state.hasMore() && Character.isWhitespace(state.peek())) {
             state.next();
         }
     }
@@ -37,12 +37,16 @@ private SpaceSplitInputTokenizer() {}
     @Override
     public List<SingleArg> tokenize(String arguments, boolean lenient) throws ArgumentParseException {
         List<SingleArg> ret = new ArrayList<SingleArg>();
-        int lastIndex = 0;
-        int spaceIndex;
-        while ((spaceIndex = arguments.indexOf(" ")) != -1) {
-            ret.add(new SingleArg((arguments = arguments.substring(0, spaceIndex)), lastIndex, lastIndex + spaceIndex));
-            lastIndex += spaceIndex + 1;
+        if (arguments.isEmpty()) {
+            return ret;
         }
+        int startIdx = 0;
+        int spaceIdx;
+        while ((spaceIdx = arguments.indexOf(' ', startIdx)) != -1) {
+            ret.add(new SingleArg(arguments.substring(startIdx, spaceIdx), startIdx, spaceIdx));
+            startIdx = spaceIdx + 1;
+        }
+        ret.add(new SingleArg(arguments.substring(startIdx), startIdx, arguments.length()));
         return ret;
     }
 }
@@ -0,0 +1,96 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.util.command.dispatcher;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An immutable, case-insensitive prefix trie of command aliases.
+ *
+ * <p>Looking up the aliases starting with a given prefix costs time
+ * proportional to the length of the prefix plus the number of results,
+ * rather than a scan over every registered alias.</p>
+ */
+final class AliasTrie {
+
+    private final Node root = new Node();
+
+    /**
+     * Create a new trie containing the given aliases.
+     *
+     * @param aliases The aliases to index
+     */
+    AliasTrie(Iterable<String> aliases) {
+        for (String alias : aliases) {
+            Node node = this.root;
+            final String lower = alias.toLowerCase();
+            for (int i = 0; i < lower.length(); i++) {
+                node = node.children.computeIfAbsent(lower.charAt(i), c -> new Node());
+            }
+            node.alias = lower;
+        }
+    }
+
+    /**
+     * Get all aliases starting with the given prefix, case-insensitively.
+     * The returned aliases are lower case and in lexicographic order.
+     *
+     * @param prefix The prefix to look up
+     * @return The matching aliases
+     */
+    ImmutableList<String> getAliasesStartingWith(String prefix) {
+        Node node = this.root;
+        final String lower = prefix.toLowerCase();
+        for (int i = 0; i < lower.length() && node != null; i++) {
+            node = node.children.get(lower.charAt(i));
+        }
+        if (node == null) {
+            return ImmutableList.of();
+        }
+        ImmutableList.Builder<String> builder = ImmutableList.builder();
+        collect(node, builder);
+        return builder.build();
+    }
+
+    private static void collect(Node node, ImmutableList.Builder<String> builder) {
+        if (node.alias != null) {
+            builder.add(node.alias);
+        }
+        for (Node child : node.children.values()) {
+            collect(child, builder);
+        }
+    }
+
+    private static final class Node {
+
+        final Map<Character, Node> children = new TreeMap<Character, Node>();
+        String alias;
+
+    }
+
+}
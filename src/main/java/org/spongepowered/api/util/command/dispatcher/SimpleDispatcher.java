@@ -31,11 +31,10 @@
 
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableMultimap;
+import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Multimap;
-import com.google.common.collect.Multimaps;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.TextBuilder;
 import org.spongepowered.api.text.Texts;
@@ -43,7 +42,6 @@
 import org.spongepowered.api.text.format.TextColors;
 import org.spongepowered.api.text.format.TextStyles;
 import org.spongepowered.api.util.GuavaCollectors;
-import org.spongepowered.api.util.StartsWithPredicate;
 import org.spongepowered.api.util.command.CommandCallable;
 import org.spongepowered.api.util.command.CommandException;
 import org.spongepowered.api.util.command.CommandMapping;
@@ -61,6 +59,8 @@
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -68,6 +68,10 @@
 
 /**
  * A simple implementation of a {@link Dispatcher}.
+ *
+ * <p>Registered commands are held in an immutable snapshot that is replaced
+ * on every modification, so lookups, suggestions and command processing never
+ * block on registration.</p>
  */
 public final class SimpleDispatcher implements Dispatcher {
 
@@ -84,7 +88,7 @@ public final class SimpleDispatcher implements Dispatcher {
     };
 
     private final Disambiguator disambiguatorFunc;
-    private final ListMultimap<String, CommandMapping> commands = ArrayListMultimap.create();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
 
     /**
      * Creates a basic new dispatcher.
@@ -174,9 +178,11 @@ public synchronized Optional<CommandMapping> register(CommandCallable callable,
             List<String> secondary = aliases.subList(1, aliases.size());
             CommandMapping mapping = new ImmutableCommandMapping(callable, primary, secondary);
 
+            ListMultimap<String, CommandMapping> commands = ArrayListMultimap.create(this.snapshot.commands);
             for (String alias : aliases) {
-                this.commands.put(alias.toLowerCase(), mapping);
+                commands.put(alias.toLowerCase(), mapping);
             }
+            this.snapshot = new Snapshot(commands);
 
             return Optional.of(mapping);
         } else {
@@ -191,7 +197,12 @@ public synchronized Optional<CommandMapping> register(CommandCallable callable,
      * @return The previous mapping associated with the alias, if one was found
      */
     public synchronized Collection<CommandMapping> remove(String alias) {
-        return this.commands.removeAll(alias.toLowerCase());
+        ListMultimap<String, CommandMapping> commands = ArrayListMultimap.create(this.snapshot.commands);
+        List<CommandMapping> removed = commands.removeAll(alias.toLowerCase());
+        if (!removed.isEmpty()) {
+            this.snapshot = new Snapshot(commands);
+        }
+        return removed;
     }
 
     /**
@@ -205,12 +216,16 @@ public synchronized boolean removeAll(Collection<?> aliases) {
 
         boolean found = false;
 
+        ListMultimap<String, CommandMapping> commands = ArrayListMultimap.create(this.snapshot.commands);
         for (Object alias : aliases) {
-            if (!this.commands.removeAll(alias.toString().toLowerCase()).isEmpty()) {
+            if (!commands.removeAll(alias.toString().toLowerCase()).isEmpty()) {
                 found = true;
             }
         }
 
+        if (found) {
+            this.snapshot = new Snapshot(commands);
+        }
         return found;
     }
 
@@ -225,7 +240,8 @@ public synchronized Optional<CommandMapping> removeMapping(CommandMapping mappin
 
         CommandMapping found = null;
 
-        Iterator<CommandMapping> it = this.commands.values().iterator();
+        ListMultimap<String, CommandMapping> commands = ArrayListMultimap.create(this.snapshot.commands);
+        Iterator<CommandMapping> it = commands.values().iterator();
         while (it.hasNext()) {
             CommandMapping current = it.next();
             if (current.equals(mapping)) {
@@ -234,6 +250,9 @@ public synchronized Optional<CommandMapping> removeMapping(CommandMapping mappin
             }
         }
 
+        if (found != null) {
+            this.snapshot = new Snapshot(commands);
+        }
         return Optional.ofNullable(found);
     }
 
@@ -248,7 +267,8 @@ public synchronized boolean removeMappings(Collection<?> mappings) {
 
         boolean found = false;
 
-        Iterator<CommandMapping> it = this.commands.values().iterator();
+        ListMultimap<String, CommandMapping> commands = ArrayListMultimap.create(this.snapshot.commands);
+        Iterator<CommandMapping> it = commands.values().iterator();
         while (it.hasNext()) {
             if (mappings.contains(it.next())) {
                 it.remove();
@@ -256,19 +276,22 @@ public synchronized boolean removeMappings(Collection<?> mappings) {
             }
         }
 
+        if (found) {
+            this.snapshot = new Snapshot(commands);
+        }
         return found;
     }
 
     @Override
-    public synchronized Set<CommandMapping> getCommands() {
-        return ImmutableSet.copyOf(this.commands.values());
+    public Set<CommandMapping> getCommands() {
+        return ImmutableSet.copyOf(this.snapshot.commands.values());
     }
 
     @Override
-    public synchronized Set<String> getPrimaryAliases() {
+    public Set<String> getPrimaryAliases() {
         Set<String> aliases = new HashSet<String>();
 
-        for (CommandMapping mapping : this.commands.values()) {
+        for (CommandMapping mapping : this.snapshot.commands.values()) {
             aliases.add(mapping.getPrimaryAlias());
         }
 
@@ -276,10 +299,10 @@ public synchronized Set<String> getPrimaryAliases() {
     }
 
     @Override
-    public synchronized Set<String> getAliases() {
+    public Set<String> getAliases() {
         Set<String> aliases = new HashSet<String>();
 
-        for (CommandMapping mapping : this.commands.values()) {
+        for (CommandMapping mapping : this.snapshot.commands.values()) {
             aliases.addAll(mapping.getAllAliases());
         }
 
@@ -298,8 +321,8 @@ public Optional<CommandMapping> get(String alias) {
      * @param source The source this alias is being looked up for
      * @return the command if exactly one matches
      */
-    public synchronized Optional<CommandMapping> get(String alias, @Nullable CommandSource source) {
-        List<CommandMapping> results = this.commands.get(alias.toLowerCase());
+    public Optional<CommandMapping> get(String alias, @Nullable CommandSource source) {
+        List<CommandMapping> results = this.snapshot.commands.get(alias.toLowerCase());
         if (results.size() == 1) {
             return Optional.of(results.get(0));
         } else if (results.size() == 0 || source == null) {
@@ -310,15 +333,15 @@ public synchronized Optional<CommandMapping> get(String alias, @Nullable Command
     }
 
     @Override
-    public synchronized boolean containsAlias(String alias) {
-        return this.commands.containsKey(alias.toLowerCase());
+    public boolean containsAlias(String alias) {
+        return this.snapshot.commands.containsKey(alias.toLowerCase());
     }
 
     @Override
     public boolean containsMapping(CommandMapping mapping) {
         checkNotNull(mapping, "mapping");
 
-        for (CommandMapping test : this.commands.values()) {
+        for (CommandMapping test : this.snapshot.commands.values()) {
             if (mapping.equals(test)) {
                 return true;
             }
@@ -343,21 +366,62 @@ public CommandResult process(CommandSource source, String commandLine) throws Co
         }
     }
 
+    @Override
+    public CompletableFuture<CommandResult> processAsync(CommandSource source, String commandLine) {
+        final CompletableFuture<CommandResult> result = new CompletableFuture<CommandResult>();
+        final int aliasEnd = commandLine.indexOf(' ');
+        final String alias = aliasEnd == -1 ? commandLine : commandLine.substring(0, aliasEnd);
+        Optional<CommandMapping> cmdOptional = get(alias, source);
+        if (!cmdOptional.isPresent()) {
+            result.completeExceptionally(new CommandNotFoundException(t("commands.generic.notFound"), alias));
+            return result;
+        }
+        final String arguments = aliasEnd == -1 ? "" : commandLine.substring(aliasEnd + 1);
+        cmdOptional.get().getCallable().processAsync(source, arguments).whenComplete((value, ex) -> {
+            final Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            if (cause == null) {
+                result.complete(value);
+            } else if (cause instanceof CommandNotFoundException) {
+                result.completeExceptionally(new CommandException(t("No such child command: %s", ((CommandNotFoundException) cause).getCommand())));
+            } else {
+                result.completeExceptionally(cause);
+            }
+        });
+        return result;
+    }
+
     @Override
     public List<String> getSuggestions(CommandSource src, final String arguments) throws CommandException {
         final String[] argSplit = arguments.split(" ", 2);
-        Optional<CommandMapping> cmdOptional = get(argSplit[0], src);
         if (argSplit.length == 1) {
-            return filterCommands(src).stream().filter(new StartsWithPredicate(argSplit[0])).collect(GuavaCollectors.toImmutableList());
-        } else if (!cmdOptional.isPresent()) {
+            final Snapshot snapshot = this.snapshot;
+            return snapshot.aliases.getAliasesStartingWith(argSplit[0]).stream()
+                    .filter(alias -> snapshot.testPermission(alias, src))
+                    .collect(GuavaCollectors.toImmutableList());
+        }
+        Optional<CommandMapping> cmdOptional = get(argSplit[0], src);
+        if (!cmdOptional.isPresent()) {
             return ImmutableList.of();
         }
         return cmdOptional.get().getCallable().getSuggestions(src, argSplit[1]);
     }
 
+    @Override
+    public CompletableFuture<List<String>> getSuggestionsAsync(CommandSource src, String arguments) {
+        final int aliasEnd = arguments.indexOf(' ');
+        if (aliasEnd != -1) {
+            Optional<CommandMapping> cmdOptional = get(arguments.substring(0, aliasEnd), src);
+            if (!cmdOptional.isPresent()) {
+                return CompletableFuture.completedFuture(ImmutableList.<String>of());
+            }
+            return cmdOptional.get().getCallable().getSuggestionsAsync(src, arguments.substring(aliasEnd + 1));
+        }
+        return Dispatcher.super.getSuggestionsAsync(src, arguments);
+    }
+
     @Override
     public boolean testPermission(CommandSource source) {
-        for (CommandMapping mapping : this.commands.values()) {
+        for (CommandMapping mapping : this.snapshot.commands.values()) {
             if (mapping.getCallable().testPermission(source)) {
                 return true;
             }
@@ -372,7 +436,7 @@ public Optional<Text> getShortDescription(CommandSource source) {
 
     @Override
     public Optional<Text> getHelp(CommandSource source) {
-        if (this.commands.isEmpty()) {
+        if (this.snapshot.commands.isEmpty()) {
             return Optional.empty();
         }
         TextBuilder build = t("Available commands:\n").builder();
@@ -397,7 +461,10 @@ public Optional<Text> getHelp(CommandSource source) {
     }
 
     private Set<String> filterCommands(final CommandSource src) {
-        return Multimaps.filterValues(this.commands, input -> input.getCallable().testPermission(src)).keys().elementSet();
+        final Snapshot snapshot = this.snapshot;
+        return snapshot.commands.keySet().stream()
+                .filter(alias -> snapshot.testPermission(alias, src))
+                .collect(GuavaCollectors.toImmutableSet());
     }
 
     /**
@@ -405,8 +472,8 @@ private Set<String> filterCommands(final CommandSource src) {
      *
      * @return The number of aliases
      */
-    public synchronized int size() {
-        return this.commands.size();
+    public int size() {
+        return this.snapshot.commands.size();
     }
 
     @Override
@@ -432,12 +499,39 @@ public Text getUsage(final CommandSource source) {
     }
 
     @Override
-    public synchronized Set<CommandMapping> getAll(String alias) {
-        return ImmutableSet.copyOf(this.commands.get(alias));
+    public Set<CommandMapping> getAll(String alias) {
+        return ImmutableSet.copyOf(this.snapshot.commands.get(alias));
     }
 
     @Override
     public Multimap<String, CommandMapping> getAll() {
-        return ImmutableMultimap.copyOf(this.commands);
+        return this.snapshot.commands;
+    }
+
+    /**
+     * An immutable view of the registered commands, replaced as a whole
+     * whenever the registrations change.
+     */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(ImmutableListMultimap.<String, CommandMapping>of());
+
+        final ImmutableListMultimap<String, CommandMapping> commands;
+        final AliasTrie aliases;
+
+        Snapshot(ListMultimap<String, CommandMapping> commands) {
+            this.commands = ImmutableListMultimap.copyOf(commands);
+            this.aliases = new AliasTrie(this.commands.keySet());
+        }
+
+        boolean testPermission(String alias, CommandSource source) {
+            for (CommandMapping mapping : this.commands.get(alias)) {
+                if (mapping.getCallable().testPermission(source)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
     }
 }
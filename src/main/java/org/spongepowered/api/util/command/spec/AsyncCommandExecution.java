@@ -0,0 +1,169 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.util.command.spec;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.spongepowered.api.util.SpongeApiTranslationHelper.t;
+import static org.spongepowered.api.util.command.CommandMessageFormatting.error;
+
+import org.spongepowered.api.service.scheduler.SchedulerService;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.util.command.CommandException;
+import org.spongepowered.api.util.command.CommandResult;
+import org.spongepowered.api.util.command.CommandSource;
+import org.spongepowered.api.util.command.args.CommandContext;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs an {@link AsyncCommandExecutor}, limiting the number of executions
+ * and suggestion requests each source may have in flight for the command and
+ * delivering results on the main thread.
+ */
+final class AsyncCommandExecution implements CommandExecutor {
+
+    private final ConcurrentMap<String, Integer> inFlight = new ConcurrentHashMap<String, Integer>();
+    private final AsyncCommandExecutor executor;
+    private final Executor mainThread;
+    private final int maxInFlight;
+
+    AsyncCommandExecution(Object plugin, SchedulerService scheduler, AsyncCommandExecutor executor, int maxInFlight) {
+        this.executor = executor;
+        this.mainThread = scheduler.createSyncExecutor(plugin);
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Get a future completed on the main thread once the given future
+     * completes, whether it completes normally or exceptionally.
+     *
+     * @param future The future to complete on the main thread
+     * @param <T> The type of the result
+     * @return A future completed on the main thread
+     */
+    <T> CompletableFuture<T> onMainThread(CompletableFuture<T> future) {
+        final CompletableFuture<T> result = new CompletableFuture<T>();
+        future.whenCompleteAsync((value, ex) -> {
+            if (ex != null) {
+                result.completeExceptionally(ex);
+            } else {
+                result.complete(value);
+            }
+        }, this.mainThread);
+        return result;
+    }
+
+    /**
+     * Start executing the command. The returned future is completed on the
+     * main thread.
+     *
+     * @param src The commander who is executing this command
+     * @param args The parsed command arguments for this command
+     * @return A future completed with the result of executing this command
+     * @throws CommandException If the source already has too many executions in flight
+     */
+    CompletableFuture<CommandResult> executeAsync(CommandSource src, CommandContext args) throws CommandException {
+        return start(src, () -> this.executor.executeAsync(src, args));
+    }
+
+    /**
+     * Start completing the given suggestions. The returned future is
+     * completed on the main thread.
+     *
+     * @param src The source requesting suggestions
+     * @param arguments The arguments entered up to this point
+     * @param suggestions The suggestions of the command elements
+     * @return A future completed with the completed suggestions
+     * @throws CommandException If the source already has too many requests in flight
+     */
+    CompletableFuture<List<String>> getSuggestionsAsync(CommandSource src, String arguments, List<String> suggestions)
+            throws CommandException {
+        return start(src, () -> this.executor.getSuggestionsAsync(src, arguments, suggestions));
+    }
+
+    private <T> CompletableFuture<T> start(CommandSource src, AsyncCall<T> call) throws CommandException {
+        final String id = src.getIdentifier();
+        if (this.inFlight.merge(id, 1, Integer::sum) > this.maxInFlight) {
+            release(id);
+            throw new CommandException(t("You already have too many commands running, please wait for them to finish."));
+        }
+
+        CompletableFuture<T> result;
+        try {
+            result = checkNotNull(call.call(), "The executor returned no future");
+        } catch (CommandException | RuntimeException e) {
+            release(id);
+            throw e;
+        }
+        return onMainThread(result.whenComplete((value, ex) -> release(id)));
+    }
+
+    private void release(String id) {
+        this.inFlight.computeIfPresent(id, (key, count) -> count <= 1 ? null : count - 1);
+    }
+
+    /**
+     * Start executing the command without waiting for it to finish. Any
+     * {@link CommandException} it fails with is reported to the source on the
+     * main thread.
+     *
+     * @param src The commander who is executing this command
+     * @param args The parsed command arguments for this command
+     * @return An empty result, as the actual result is not known yet
+     * @throws CommandException If the source already has too many executions in flight
+     */
+    /**
+     * A call to the executor starting an asynchronous operation.
+     *
+     * @param <T> The type of the result
+     */
+    private interface AsyncCall<T> {
+
+        CompletableFuture<T> call() throws CommandException;
+
+    }
+
+    @Override
+    public CommandResult execute(CommandSource src, CommandContext args) throws CommandException {
+        executeAsync(src, args).whenCompleteAsync((result, ex) -> {
+            final Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            if (cause instanceof CommandException) {
+                final Text message = ((CommandException) cause).getText();
+                if (message != null) {
+                    src.sendMessage(error(message));
+                }
+            } else if (cause != null) {
+                src.sendMessage(error(t("An error occurred while executing this command.")));
+            }
+        }, this.mainThread);
+        return CommandResult.empty();
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.util.command.spec;
+
+import org.spongepowered.api.util.command.CommandException;
+import org.spongepowered.api.util.command.CommandResult;
+import org.spongepowered.api.util.command.CommandSource;
+import org.spongepowered.api.util.command.args.CommandContext;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Interface containing the method directing how a certain command will be
+ * executed when its result is not available immediately, for example because
+ * it queries a database or resolves game profiles.
+ *
+ * @see CommandSpec.Builder#executorAsync(Object, org.spongepowered.api.service.scheduler.SchedulerService, AsyncCommandExecutor)
+ */
+public interface AsyncCommandExecutor {
+
+    /**
+     * Callback for the execution of a command. This is called on the thread
+     * that processes the command, and must not block; any blocking work
+     * should be done on another thread with the returned future completed
+     * once it is done.
+     *
+     * <p>A future completed exceptionally with a {@link CommandException}
+     * is reported to the source like a synchronously thrown one.</p>
+     *
+     * @param src The commander who is executing this command
+     * @param args The parsed command arguments for this command
+     * @return A future completed with the result of executing this command
+     * @throws CommandException If a user-facing error occurs before execution is started
+     */
+    CompletableFuture<CommandResult> executeAsync(CommandSource src, CommandContext args) throws CommandException;
+
+    /**
+     * Callback completing the suggestions for the arguments of a command.
+     * The given suggestions were computed by the command elements on the
+     * thread that requested them, and may be refined or extended here
+     * without blocking, like {@link #executeAsync(CommandSource, CommandContext)}.
+     *
+     * <p>By default, the given suggestions are returned as they are.</p>
+     *
+     * @param src The source requesting suggestions
+     * @param arguments The arguments entered up to this point
+     * @param suggestions The suggestions of the command elements
+     * @return A future completed with the suggestions
+     * @throws CommandException If a user-facing error occurs
+     */
+    default CompletableFuture<List<String>> getSuggestionsAsync(CommandSource src, String arguments, List<String> suggestions)
+            throws CommandException {
+        return CompletableFuture.completedFuture(suggestions);
+    }
+
+}
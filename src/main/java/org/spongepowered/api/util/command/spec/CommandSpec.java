@@ -24,6 +24,7 @@
  */
 package org.spongepowered.api.util.command.spec;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static org.spongepowered.api.util.SpongeApiTranslationHelper.t;
 import static org.spongepowered.api.util.command.args.GenericArguments.firstParsing;
@@ -31,6 +32,7 @@
 
 import com.google.common.base.Objects;
 import com.google.common.collect.ImmutableList;
+import org.spongepowered.api.service.scheduler.SchedulerService;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.TextBuilder;
 import org.spongepowered.api.text.Texts;
@@ -45,6 +47,7 @@
 import org.spongepowered.api.util.command.args.CommandArgs;
 import org.spongepowered.api.util.command.args.CommandContext;
 import org.spongepowered.api.util.command.args.CommandElement;
+import org.spongepowered.api.util.command.args.CompiledArguments;
 import org.spongepowered.api.util.command.args.GenericArguments;
 import org.spongepowered.api.util.command.args.parsing.InputTokenizer;
 import org.spongepowered.api.util.command.args.parsing.InputTokenizers;
@@ -53,6 +56,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import javax.annotation.Nullable;
 
@@ -62,6 +66,7 @@
 public final class CommandSpec implements CommandCallable {
 
     private final CommandElement args;
+    private final CompiledArguments compiledArgs;
     private final CommandExecutor executor;
     private final Optional<Text> description;
     @Nullable private final Text extendedDescription;
@@ -71,6 +76,7 @@ public final class CommandSpec implements CommandCallable {
     private CommandSpec(CommandElement args, CommandExecutor executor, @Nullable Text description, @Nullable Text extendedDescription,
             @Nullable String permission, InputTokenizer parser) {
         this.args = args;
+        this.compiledArgs = CompiledArguments.compile(args);
         this.executor = executor;
         this.permission = permission;
         this.description = Optional.ofNullable(description);
@@ -93,6 +99,7 @@ public static Builder builder() {
     public static final class Builder {
 
         private static final CommandElement DEFAULT_ARG = GenericArguments.none();
+        private static final int DEFAULT_MAX_ASYNC_EXECUTIONS = 3;
         private CommandElement args = DEFAULT_ARG;
         @Nullable
         private Text description;
@@ -103,6 +110,13 @@ public static final class Builder {
         @Nullable
         private CommandExecutor executor;
         @Nullable
+        private AsyncCommandExecutor asyncExecutor;
+        @Nullable
+        private Object asyncPlugin;
+        @Nullable
+        private SchedulerService asyncScheduler;
+        private int maxAsyncExecutions = DEFAULT_MAX_ASYNC_EXECUTIONS;
+        @Nullable
         private Map<List<String>, CommandCallable> childCommandMap;
         private InputTokenizer argumentParser = InputTokenizers.quotedStrings(false);
 
@@ -128,6 +142,51 @@ public Builder permission(String permission) {
         public Builder executor(CommandExecutor executor) {
             checkNotNull(executor, "executor");
             this.executor = executor;
+            this.asyncExecutor = null;
+            return this;
+        }
+
+        /**
+         * Set the callback that will handle this command's execution
+         * asynchronously. Arguments are still parsed on the thread processing
+         * the command, and the result is delivered back on the main thread
+         * using the given scheduler.
+         *
+         * <p>When processed through {@link CommandCallable#process(CommandSource, String)}, the command
+         * returns {@link CommandResult#empty()} immediately and any error is
+         * sent to the source once execution has finished.
+         * {@link CommandCallable#processAsync(CommandSource, String)} provides
+         * the actual result.</p>
+         *
+         * @param plugin The plugin to schedule tasks for
+         * @param scheduler The scheduler to deliver results with
+         * @param executor The executor that will be called with this command's parsed arguments
+         * @return this
+         */
+        public Builder executorAsync(Object plugin, SchedulerService scheduler, AsyncCommandExecutor executor) {
+            checkNotNull(plugin, "plugin");
+            checkNotNull(scheduler, "scheduler");
+            checkNotNull(executor, "executor");
+            this.asyncPlugin = plugin;
+            this.asyncScheduler = scheduler;
+            this.asyncExecutor = executor;
+            this.executor = null;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of asynchronous executions and suggestion
+         * requests a single source may have in flight for this command at
+         * once. Further attempts to execute this command fail until enough of
+         * them finish. By default, this is 3.
+         *
+         * @param maxAsyncExecutions The maximum number of executions per source
+         * @return this
+         * @throws IllegalArgumentException If the maximum is below 1
+         */
+        public Builder maxAsyncExecutions(int maxAsyncExecutions) {
+            checkArgument(maxAsyncExecutions > 0, "maxAsyncExecutions must be at least 1");
+            this.maxAsyncExecutions = maxAsyncExecutions;
             return this;
         }
 
@@ -235,6 +294,9 @@ public Builder inputTokenizer(InputTokenizer parser) {
          * @return the new spec
          */
         public CommandSpec build() {
+            if (this.asyncExecutor != null) {
+                this.executor = new AsyncCommandExecution(this.asyncPlugin, this.asyncScheduler, this.asyncExecutor, this.maxAsyncExecutions);
+            }
             if (this.childCommandMap == null) {
                 checkNotNull(this.executor, "An executor is required");
             } else {
@@ -284,7 +346,7 @@ public void checkPermission(CommandSource source) throws CommandException {
      * @throws ArgumentParseException if an invalid argument is provided
      */
     public void populateContext(CommandSource source, CommandArgs args, CommandContext context) throws ArgumentParseException {
-        this.args.parse(source, args, context);
+        this.compiledArgs.parse(source, args, context);
         if (args.hasNext()) {
             args.next();
             throw args.createError(t("Too many arguments!"));
@@ -325,13 +387,31 @@ public InputTokenizer getInputTokenizer() {
         return this.argumentParser;
     }
 
-    @Override
-    public CommandResult process(CommandSource source, String arguments) throws CommandException {
+    private CommandContext parse(CommandSource source, String arguments) throws CommandException {
         checkPermission(source);
         final CommandArgs args = new CommandArgs(arguments, getInputTokenizer().tokenize(arguments, false));
-        final CommandContext context = new CommandContext();
+        final CommandContext context = this.compiledArgs.createContext();
         this.populateContext(source, args, context);
-        return getExecutor().execute(source, context);
+        return context;
+    }
+
+    @Override
+    public CommandResult process(CommandSource source, String arguments) throws CommandException {
+        return getExecutor().execute(source, parse(source, arguments));
+    }
+
+    @Override
+    public CompletableFuture<CommandResult> processAsync(CommandSource source, String arguments) {
+        if (!(this.executor instanceof AsyncCommandExecution)) {
+            return CommandCallable.super.processAsync(source, arguments);
+        }
+        try {
+            return ((AsyncCommandExecution) this.executor).executeAsync(source, parse(source, arguments));
+        } catch (CommandException | RuntimeException e) {
+            final CompletableFuture<CommandResult> result = new CompletableFuture<CommandResult>();
+            result.completeExceptionally(e);
+            return result;
+        }
     }
 
     @Override
@@ -340,6 +420,29 @@ public List<String> getSuggestions(CommandSource source, String arguments) throw
         return complete(source, args, new CommandContext());
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>For commands with an asynchronous executor, the suggestions of the
+     * arguments are computed on the calling thread and then passed to
+     * {@link AsyncCommandExecutor#getSuggestionsAsync(CommandSource, String, List)}.
+     * Requests count against the same limit as executions, and the result is
+     * delivered on the main thread.</p>
+     */
+    @Override
+    public CompletableFuture<List<String>> getSuggestionsAsync(CommandSource source, String arguments) {
+        if (!(this.executor instanceof AsyncCommandExecution)) {
+            return CommandCallable.super.getSuggestionsAsync(source, arguments);
+        }
+        try {
+            return ((AsyncCommandExecution) this.executor).getSuggestionsAsync(source, arguments, getSuggestions(source, arguments));
+        } catch (CommandException | RuntimeException e) {
+            final CompletableFuture<List<String>> result = new CompletableFuture<List<String>>();
+            result.completeExceptionally(e);
+            return result;
+        }
+    }
+
     @Override
     public boolean testPermission(CommandSource source) {
         return this.permission == null || source.hasPermission(this.permission);
@@ -71,6 +71,47 @@ public interface EntityUniverse {
      */
     Collection<Entity> getEntities(Predicate<Entity> filter);
 
+    /**
+     * Return a collection of entities whose position lies within the given
+     * box, possibly only returning entities only in loaded areas. The returned
+     * entities are filtered by the given {@link Predicate} before being
+     * returned.
+     *
+     * <p>The box includes the minimum corner and excludes the maximum corner.
+     * Implementations should only visit the chunk sections overlapping the
+     * box rather than all entities of this universe.</p>
+     *
+     * @param min The minimum corner of the box
+     * @param max The maximum corner of the box
+     * @param filter The filter to apply to the returned entities
+     * @return A collection of filtered entities within the box
+     */
+    default Collection<Entity> getEntitiesWithin(Vector3d min, Vector3d max, Predicate<Entity> filter) {
+        return getEntities(entity -> {
+            final Vector3d position = entity.getLocation().getPosition();
+            return position.getX() >= min.getX() && position.getX() < max.getX()
+                    && position.getY() >= min.getY() && position.getY() < max.getY()
+                    && position.getZ() >= min.getZ() && position.getZ() < max.getZ()
+                    && filter.test(entity);
+        });
+    }
+
+    /**
+     * Return a collection of entities of the given type, possibly only
+     * returning entities only in loaded areas. The returned entities are
+     * filtered by the given {@link Predicate} before being returned.
+     *
+     * <p>Implementations should keep an index of the loaded entities by type
+     * rather than testing all entities of this universe.</p>
+     *
+     * @param type The type of the entities to return
+     * @param filter The filter to apply to the returned entities
+     * @return A collection of filtered entities of the given type
+     */
+    default Collection<Entity> getEntitiesOfType(EntityType type, Predicate<Entity> filter) {
+        return getEntities(entity -> entity.getType().equals(type) && filter.test(entity));
+    }
+
     /**
      * Create an entity instance at the given position.
      *
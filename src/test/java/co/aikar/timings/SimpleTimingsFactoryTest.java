@@ -0,0 +1,264 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package co.aikar.timings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.slf4j.Logger;
+import org.spongepowered.api.Game;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.Texts;
+import org.spongepowered.api.util.command.CommandSource;
+import org.spongepowered.api.util.test.TestHooks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+public class SimpleTimingsFactoryTest {
+
+    static {
+        TestHooks.initialize();
+    }
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private SimpleTimingsFactory factory;
+    private PluginContainer plugin;
+
+    @Before
+    public void setUp() {
+        this.factory = new SimpleTimingsFactory(mock(Game.class), mock(Logger.class), Thread.currentThread());
+        this.factory.setHistoryInterval(2);
+        this.plugin = mock(PluginContainer.class);
+        when(this.plugin.getId()).thenReturn("test");
+    }
+
+    @Nullable
+    private TimingData collect() {
+        this.factory.tick(50, TimeUnit.MILLISECONDS);
+        this.factory.tick(50, TimeUnit.MILLISECONDS);
+        final List<TimingHistory> history = this.factory.getHistory();
+        final List<TimingData> data = history.get(history.size() - 1).getData();
+        return data.isEmpty() ? null : data.get(data.size() - 1);
+    }
+
+    @Test
+    public void testRecordMainThread() {
+        final Timing timing = this.factory.of(this.plugin, "main", null);
+        timing.startTiming();
+        timing.startTiming();
+        timing.stopTiming();
+        timing.stopTiming();
+        try (Timing started = timing.startTiming()) {
+            assertTrue(started == timing);
+        }
+        timing.startTimingIfSync();
+        timing.stopTimingIfSync();
+
+        final TimingData data = collect();
+        assertEquals("test", data.getPluginId());
+        assertEquals("main", data.getName());
+        assertEquals(3, data.getCount());
+    }
+
+    @Test
+    public void testRecordOtherThread() throws InterruptedException {
+        final Timing timing = this.factory.of(this.plugin, "async", null);
+        final Thread thread = new Thread(() -> {
+            timing.startTiming().stopTiming();
+            timing.startTimingIfSync();
+            timing.stopTimingIfSync();
+        });
+        thread.start();
+        thread.join();
+        assertEquals(1, collect().getCount());
+    }
+
+    @Test
+    public void testDropTerminatedThreads() throws InterruptedException {
+        this.factory.setHistoryInterval(1);
+        final SimpleTiming timing = (SimpleTiming) this.factory.of(this.plugin, "terminated", null);
+        final CountDownLatch recorded = new CountDownLatch(1);
+        final CountDownLatch collected = new CountDownLatch(1);
+        final Thread thread = new Thread(() -> {
+            timing.startTiming().stopTiming();
+            recorded.countDown();
+            try {
+                collected.await();
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            }
+            timing.startTiming().stopTiming();
+        });
+        thread.start();
+        recorded.await();
+        this.factory.tick(50, TimeUnit.MILLISECONDS);
+        assertEquals(1, this.factory.getHistory().get(0).getData().get(0).getCount());
+        assertEquals(1, timing.getThreadAccumulatorCount());
+
+        collected.countDown();
+        thread.join();
+        // The final values are collected once before the accumulator is dropped
+        this.factory.tick(50, TimeUnit.MILLISECONDS);
+        assertEquals(1, this.factory.getHistory().get(1).getData().get(0).getCount());
+        assertEquals(0, timing.getThreadAccumulatorCount());
+        this.factory.tick(50, TimeUnit.MILLISECONDS);
+        assertTrue(this.factory.getHistory().get(2).getData().isEmpty());
+    }
+
+    @Test
+    public void testGroupHandler() {
+        final Timing group = this.factory.of(this.plugin, "group", null);
+        final Timing timing = this.factory.of(this.plugin, "child", group);
+        assertTrue(timing == this.factory.of(this.plugin, "child", group));
+        timing.startTiming().stopTiming();
+
+        this.factory.tick(50, TimeUnit.MILLISECONDS);
+        this.factory.tick(50, TimeUnit.MILLISECONDS);
+        assertEquals(2, this.factory.getHistory().get(0).getData().size());
+    }
+
+    @Test
+    public void testDisabledAndAbort() {
+        final Timing timing = this.factory.of(this.plugin, "disabled", null);
+        timing.startTiming().abort();
+        timing.stopTiming();
+        this.factory.setTimingsEnabled(false);
+        timing.startTiming().stopTiming();
+        this.factory.setTimingsEnabled(true);
+        timing.startTiming().stopTiming();
+        assertEquals(1, collect().getCount());
+    }
+
+    @Test
+    public void testSampling() {
+        final Timing group = this.factory.of(this.plugin, "group", null);
+        final Timing timing = this.factory.of(this.plugin, "sampled", group);
+        this.factory.setSamplingEnabled(true);
+        timing.startTiming();
+        final long[] allocated = new long[1 << 16];
+        timing.stopTiming();
+        this.factory.setSamplingEnabled(false);
+        timing.startTiming().stopTiming();
+
+        final TimingData data = collect();
+        assertEquals(2, data.getCount());
+        assertTrue(data.getAllocatedBytes() >= allocated.length * 8);
+        assertTrue(data.getCpuTime(TimeUnit.NANOSECONDS) >= 0);
+        assertEquals(data.getAllocatedBytes(), this.factory.getHistory().get(0).getData().get(0).getAllocatedBytes());
+    }
+
+    @Test
+    public void testReportAllocationsPerSampledTick() {
+        final Timing timing = this.factory.of(this.plugin, "sampled", null);
+        this.factory.setSamplingEnabled(true);
+        timing.startTiming();
+        final long[] allocated = new long[1 << 17];
+        timing.stopTiming();
+        this.factory.tick(50, TimeUnit.MILLISECONDS);
+        this.factory.setSamplingEnabled(false);
+        for (int i = 0; i < 99; i++) {
+            this.factory.tick(50, TimeUnit.MILLISECONDS);
+        }
+
+        final CommandSource source = mock(CommandSource.class);
+        this.factory.generateReport(source);
+        final ArgumentCaptor<Text> messages = ArgumentCaptor.forClass(Text.class);
+        verify(source, atLeastOnce()).sendMessage(messages.capture());
+        final String allocations = Texts.toPlain(messages.getValue());
+        assertTrue(allocations, allocations.startsWith("test sampled - allocated: "));
+        // Divided by the single sampled tick instead of all 100 ticks
+        final long perTick = Long.parseLong(allocations.substring(26, allocations.indexOf(' ', 26)));
+        assertTrue(allocations, perTick >= allocated.length * 8 / 1024);
+    }
+
+    @Test
+    public void testTickTimePercentiles() {
+        this.factory.setHistoryLength(100);
+        for (int i = 1; i <= 200; i++) {
+            this.factory.tick(i, TimeUnit.MILLISECONDS);
+        }
+        // Only the last 100 ticks are kept
+        assertEquals(150, this.factory.getTickTime(50, TimeUnit.MILLISECONDS));
+        assertEquals(199, this.factory.getTickTime(99, TimeUnit.MILLISECONDS));
+        assertEquals(200, this.factory.getTickTime(100, TimeUnit.MILLISECONDS));
+
+        final TimingHistory last = this.factory.getHistory().get(this.factory.getHistory().size() - 1);
+        assertEquals(2, last.getTicks());
+        assertEquals(199, last.getMedianTickTime(TimeUnit.MILLISECONDS));
+        assertEquals(200, last.getMaxTickTime(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testHistoryRingBuffer() {
+        this.factory.setHistoryLength(6);
+        for (int i = 1; i <= 10; i++) {
+            this.factory.tick(i, TimeUnit.MILLISECONDS);
+        }
+        final List<TimingHistory> history = this.factory.getHistory();
+        assertEquals(3, history.size());
+        assertEquals(6, history.get(0).getMaxTickTime(TimeUnit.MILLISECONDS));
+        assertEquals(10, history.get(2).getMaxTickTime(TimeUnit.MILLISECONDS));
+
+        this.factory.setHistoryLength(4);
+        assertEquals(2, this.factory.getHistory().size());
+        assertEquals(8, this.factory.getHistory().get(0).getMaxTickTime(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testExportHistory() throws IOException {
+        final Timing group = this.factory.of(this.plugin, "group", null);
+        this.factory.of(this.plugin, "child", group).startTiming().stopTiming();
+        collect();
+        collect();
+
+        final Path path = this.folder.getRoot().toPath().resolve("timings.jsonl");
+        this.factory.exportHistory(path);
+        final List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).contains("\"name\":\"child\",\"group\":\"group\",\"count\":1"));
+        assertTrue(lines.get(1).contains("\"timings\":[]"));
+    }
+
+}
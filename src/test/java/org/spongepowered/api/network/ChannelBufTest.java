@@ -0,0 +1,74 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.network;
+
+import org.junit.Test;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+
+public class ChannelBufTest {
+
+    private static ChannelBuf buf() {
+        final ChannelBuf buf = Mockito.mock(BulkChannelBuf.class);
+        Mockito.when(buf.writeBytes(Matchers.<byte[]>any(), Matchers.anyInt(), Matchers.anyInt())).thenCallRealMethod();
+        Mockito.when(buf.writeIntegers(Matchers.<int[]>any(), Matchers.anyInt(), Matchers.anyInt())).thenCallRealMethod();
+        Mockito.when(buf.readLongs(Matchers.<long[]>any(), Matchers.anyInt(), Matchers.anyInt())).thenCallRealMethod();
+        return buf;
+    }
+
+    @Test
+    public void testRange() {
+        final ChannelBuf buf = buf();
+        buf.writeIntegers(new int[] {1, 2, 3}, 1, 2);
+        Mockito.verify(buf, Mockito.never()).writeInteger(1);
+        Mockito.verify(buf).writeInteger(2);
+        Mockito.verify(buf).writeInteger(3);
+
+        buf.writeBytes(new byte[4], 4, 0);
+        Mockito.verify(buf, Mockito.never()).writeByte(Matchers.anyByte());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testRangeTooLong() {
+        buf().readLongs(new long[4], 2, 3);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testNegativeLength() {
+        buf().writeIntegers(new int[4], 2, -1);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testOverflowingLength() {
+        buf().writeBytes(new byte[4], 1, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Lets Mockito call the default bulk methods of {@link ChannelBuf}.
+     */
+    abstract static class BulkChannelBuf implements ChannelBuf {
+    }
+
+}
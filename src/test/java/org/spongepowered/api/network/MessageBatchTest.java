@@ -0,0 +1,379 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Objects;
+
+public class MessageBatchTest {
+
+    private static ChannelBuf buf(ByteBuffer data) {
+        // Mockito passes the outer instance as the only constructor argument
+        return Mockito.mock(ByteBufferChannelBuf.class, Mockito.withSettings()
+                .useConstructor()
+                .outerInstance(data)
+                .defaultAnswer(Mockito.CALLS_REAL_METHODS));
+    }
+
+    private static ChannelBuf buf() {
+        return buf(ByteBuffer.allocate(256));
+    }
+
+    private static List<Object> read(ChannelBuf buf) {
+        final List<Object> read = Lists.newArrayList();
+        MessageBatch.read(buf, id -> id == 2 ? new CoalescedMessage() : new TextMessage(), (id, message) -> {
+            read.add(id);
+            read.add(message);
+        });
+        return read;
+    }
+
+    @Test
+    public void testRoundTrip() {
+        final MessageBatch batch = new MessageBatch();
+        batch.add(0, new TextMessage("first"));
+        batch.add(255, new TextMessage(""));
+        batch.add(7, new TextMessage("th\u00efrd"));
+        assertEquals(3, batch.size());
+
+        final ChannelBuf buf = buf();
+        batch.writeTo(buf);
+        assertEquals(3, buf.readVarInt());
+        assertEquals(0, buf.readByte());
+        // The length of the message data: one byte for its length and five for "first"
+        assertEquals(6, buf.readInteger());
+        buf.setReadIndex(0);
+
+        assertEquals(Lists.newArrayList(0, new TextMessage("first"), 255, new TextMessage(""), 7, new TextMessage("th\u00efrd")), read(buf));
+        assertEquals(0, buf.available());
+    }
+
+    @Test
+    public void testEmptyBatch() {
+        final MessageBatch batch = new MessageBatch();
+        assertTrue(batch.isEmpty());
+
+        final ChannelBuf buf = buf();
+        batch.writeTo(buf);
+        assertEquals(1, buf.writerIndex());
+        assertEquals(0, buf.getByte(0));
+        assertTrue(read(buf).isEmpty());
+        assertEquals(0, buf.available());
+    }
+
+    @Test
+    public void testCoalescing() {
+        final MessageBatch batch = new MessageBatch();
+        batch.add(2, new CoalescedMessage("a", 1));
+        batch.add(1, new TextMessage("between"));
+        batch.add(2, new CoalescedMessage("b", 2));
+        batch.add(2, new CoalescedMessage("a", 3));
+        assertEquals(3, batch.size());
+
+        final ChannelBuf buf = buf();
+        batch.writeTo(buf);
+        // The replacement keeps the position of the replaced message
+        assertEquals(Lists.newArrayList(2, new CoalescedMessage("a", 3), 1, new TextMessage("between"), 2, new CoalescedMessage("b", 2)),
+                read(buf));
+
+        batch.clear();
+        assertTrue(batch.isEmpty());
+        batch.add(2, new CoalescedMessage("a", 4));
+        assertEquals(1, batch.size());
+    }
+
+    @Test
+    public void testSkipsUnknownAndUnreadData() {
+        final MessageBatch batch = new MessageBatch();
+        batch.add(9, new TextMessage("unknown"));
+        batch.add(1, new TextMessage("known"));
+        final ChannelBuf buf = buf();
+        batch.writeTo(buf);
+
+        final List<Object> read = Lists.newArrayList();
+        MessageBatch.read(buf, id -> id == 9 ? null : new CountMessage(), (id, message) -> read.add(message));
+        // The message only reads the length of the string, the rest of its data is skipped
+        assertEquals(Lists.newArrayList(new CountMessage(5)), read);
+        assertEquals(0, buf.available());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLengthBeyondPayload() {
+        final MessageBatch batch = new MessageBatch();
+        batch.add(1, new TextMessage("message"));
+        final ChannelBuf buf = buf();
+        batch.writeTo(buf);
+        buf.setInteger(2, 100);
+        read(buf);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeLength() {
+        final MessageBatch batch = new MessageBatch();
+        batch.add(1, new TextMessage("message"));
+        final ChannelBuf buf = buf();
+        batch.writeTo(buf);
+        buf.setInteger(2, -1);
+        read(buf);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTruncatedPayload() {
+        final MessageBatch batch = new MessageBatch();
+        batch.add(1, new TextMessage("first"));
+        batch.add(1, new TextMessage("second"));
+        final ChannelBuf buf = buf();
+        batch.writeTo(buf);
+        buf.setWriteIndex(buf.writerIndex() - 1);
+        read(buf);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMessageId() {
+        new MessageBatch().add(256, new TextMessage("message"));
+    }
+
+    public static class TextMessage implements Message {
+
+        private String text = "";
+
+        public TextMessage() {
+        }
+
+        TextMessage(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public void readFrom(ChannelBuf buf) {
+            this.text = buf.readUTF();
+        }
+
+        @Override
+        public void writeTo(ChannelBuf buf) {
+            buf.writeUTF(this.text);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj != null && obj.getClass() == getClass() && this.text.equals(((TextMessage) obj).text);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.text.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return this.text;
+        }
+
+    }
+
+    public static class CountMessage implements Message {
+
+        private int count;
+
+        public CountMessage() {
+        }
+
+        CountMessage(int count) {
+            this.count = count;
+        }
+
+        @Override
+        public void readFrom(ChannelBuf buf) {
+            this.count = buf.readVarInt();
+        }
+
+        @Override
+        public void writeTo(ChannelBuf buf) {
+            buf.writeVarInt(this.count);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof CountMessage && this.count == ((CountMessage) obj).count;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.count;
+        }
+
+    }
+
+    public static class CoalescedMessage implements CoalescingMessage {
+
+        private String key = "";
+        private int value;
+
+        public CoalescedMessage() {
+        }
+
+        CoalescedMessage(String key, int value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public Object getCoalescingKey() {
+            return this.key;
+        }
+
+        @Override
+        public void readFrom(ChannelBuf buf) {
+            this.key = buf.readUTF();
+            this.value = buf.readInteger();
+        }
+
+        @Override
+        public void writeTo(ChannelBuf buf) {
+            buf.writeUTF(this.key);
+            buf.writeInteger(this.value);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof CoalescedMessage && this.key.equals(((CoalescedMessage) obj).key) && this.value == ((CoalescedMessage) obj).value;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.key, this.value);
+        }
+
+        @Override
+        public String toString() {
+            return this.key + "=" + this.value;
+        }
+
+    }
+
+    /**
+     * Implements the parts of a buffer the batch framing uses over a
+     * {@link ByteBuffer}, the rest is left abstract.
+     */
+    abstract static class ByteBufferChannelBuf implements ChannelBuf {
+
+        private final ByteBuffer data;
+        private int readIndex;
+        private int writeIndex;
+
+        ByteBufferChannelBuf(ByteBuffer data) {
+            this.data = data;
+        }
+
+        @Override
+        public int available() {
+            return this.writeIndex - this.readIndex;
+        }
+
+        @Override
+        public int readerIndex() {
+            return this.readIndex;
+        }
+
+        @Override
+        public ChannelBuf setReadIndex(int index) {
+            this.readIndex = index;
+            return this;
+        }
+
+        @Override
+        public int writerIndex() {
+            return this.writeIndex;
+        }
+
+        @Override
+        public ChannelBuf setWriteIndex(int index) {
+            this.writeIndex = index;
+            return this;
+        }
+
+        @Override
+        public ChannelBuf slice(int index, int length) {
+            final ByteBuffer slice = this.data.duplicate();
+            slice.position(index);
+            slice.limit(index + length);
+            return buf(slice.slice()).setWriteIndex(length);
+        }
+
+        @Override
+        public ChannelBuf writeByte(byte data) {
+            this.data.put(this.writeIndex++, data);
+            return this;
+        }
+
+        @Override
+        public byte readByte() {
+            checkReadable(1);
+            return this.data.get(this.readIndex++);
+        }
+
+        @Override
+        public byte getByte(int index) {
+            return this.data.get(index);
+        }
+
+        @Override
+        public ChannelBuf writeInteger(int data) {
+            this.data.putInt(this.writeIndex, data);
+            this.writeIndex += 4;
+            return this;
+        }
+
+        @Override
+        public ChannelBuf setInteger(int index, int data) {
+            this.data.putInt(index, data);
+            return this;
+        }
+
+        @Override
+        public int readInteger() {
+            checkReadable(4);
+            final int data = this.data.getInt(this.readIndex);
+            this.readIndex += 4;
+            return data;
+        }
+
+        private void checkReadable(int bytes) {
+            if (available() < bytes) {
+                throw new IndexOutOfBoundsException();
+            }
+        }
+
+    }
+
+}
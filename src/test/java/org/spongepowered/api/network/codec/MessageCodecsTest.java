@@ -0,0 +1,215 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.network.codec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import com.flowpowered.math.vector.Vector3d;
+import com.flowpowered.math.vector.Vector3i;
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.api.data.MemoryDataContainer;
+import org.spongepowered.api.network.ChannelBuf;
+import org.spongepowered.api.network.Message;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.UUID;
+
+public class MessageCodecsTest {
+
+    @Test
+    public void testRoundTrip() {
+        TestMessage message = new TestMessage();
+        message.id = 42;
+        message.time = 1234567890123L;
+        message.name = "Test";
+        message.uniqueId = UUID.randomUUID();
+        message.flag = true;
+
+        Deque<Object> values = new ArrayDeque<Object>();
+        ChannelBuf buf = recordingBuf(values);
+        message.writeTo(buf);
+        // Fields are written in the order of their annotation, not their declaration
+        assertEquals(ImmutableList.of(42, 1234567890123L, "Test", message.uniqueId, true), ImmutableList.copyOf(values));
+
+        TestMessage read = MessageCodecs.getCodec(TestMessage.class).newInstance();
+        assertNotSame(message, read);
+        read.readFrom(buf);
+        assertEquals(message.id, read.id);
+        assertEquals(message.time, read.time);
+        assertEquals(message.name, read.name);
+        assertEquals(message.uniqueId, read.uniqueId);
+        assertEquals(message.flag, read.flag);
+    }
+
+    @Test
+    public void testVectorRoundTrip() {
+        VectorMessage message = new VectorMessage();
+        message.position = new Vector3d(1.5, -2.25, 3e10);
+        message.block = new Vector3i(-1, 64, Integer.MAX_VALUE);
+
+        Deque<Object> values = new ArrayDeque<Object>();
+        ChannelBuf buf = recordingBuf(values);
+        message.writeTo(buf);
+        // Vectors are written as their components
+        assertEquals(ImmutableList.of(1.5, -2.25, 3e10, -1, 64, Integer.MAX_VALUE), ImmutableList.copyOf(values));
+
+        VectorMessage read = new VectorMessage();
+        read.readFrom(buf);
+        assertEquals(message.position, read.position);
+        assertEquals(message.block, read.block);
+    }
+
+    @Test
+    public void testDataRoundTrip() {
+        DataMessage message = new DataMessage();
+        message.container = new MemoryDataContainer().set(DataQuery.of("name"), "value");
+        message.view = new MemoryDataContainer().set(DataQuery.of("count"), 3);
+
+        Deque<Object> values = new ArrayDeque<Object>();
+        ChannelBuf buf = recordingBuf(values);
+        message.writeTo(buf);
+        assertEquals(ImmutableList.of(message.container, message.view), ImmutableList.copyOf(values));
+
+        DataMessage read = new DataMessage();
+        read.readFrom(buf);
+        // Containers are copied out of the read view
+        assertNotSame(message.container, read.container);
+        assertEquals(message.container, read.container);
+        assertSame(message.view, read.view);
+    }
+
+    @Test
+    public void testInheritedFromPackagePrivateClass() {
+        InheritingMessage message = new InheritingMessage();
+        message.base = 7;
+        message.own = "own";
+
+        Deque<Object> values = new ArrayDeque<Object>();
+        ChannelBuf buf = recordingBuf(values);
+        message.writeTo(buf);
+        assertEquals(ImmutableList.of(7, "own"), ImmutableList.copyOf(values));
+
+        InheritingMessage read = new InheritingMessage();
+        read.readFrom(buf);
+        assertEquals(7, read.base);
+        assertEquals("own", read.own);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoFields() {
+        new EmptyMessage().writeTo(recordingBuf(new ArrayDeque<Object>()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDuplicateOrder() {
+        MessageCodecs.getCodec(DuplicateMessage.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedType() {
+        MessageCodecs.getCodec(UnsupportedMessage.class);
+    }
+
+    /**
+     * Creates a buffer recording the written values, which are then returned
+     * by the read methods in the same order.
+     */
+    private static ChannelBuf recordingBuf(Deque<Object> values) {
+        return (ChannelBuf) Proxy.newProxyInstance(MessageCodecsTest.class.getClassLoader(), new Class<?>[] {ChannelBuf.class},
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("write")) {
+                        values.add(args[0]);
+                        return proxy;
+                    } else if (method.getName().startsWith("read")) {
+                        return values.poll();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    public static class TestMessage implements Message {
+
+        @MessageField(2) public String name;
+        @MessageField(0) public int id;
+        @MessageField(1) public long time;
+        @MessageField(3) public UUID uniqueId;
+        @MessageField(4) public boolean flag;
+
+    }
+
+    public static class VectorMessage implements Message {
+
+        @MessageField(0) public Vector3d position;
+        @MessageField(1) public Vector3i block;
+
+    }
+
+    public static class DataMessage implements Message {
+
+        @MessageField(0) public DataContainer container;
+        @MessageField(1) public DataView view;
+
+    }
+
+    abstract static class PackagePrivateMessage implements Message {
+
+        @MessageField(0) public int base;
+
+    }
+
+    public static class InheritingMessage extends PackagePrivateMessage {
+
+        @MessageField(1) public String own;
+
+    }
+
+    public static class EmptyMessage implements Message {
+
+        public int notAnnotated;
+
+    }
+
+    public static class DuplicateMessage implements Message {
+
+        @MessageField(0) public int first;
+        @MessageField(0) public int second;
+
+    }
+
+    public static class UnsupportedMessage implements Message {
+
+        @MessageField(0) public Object value;
+
+    }
+
+}
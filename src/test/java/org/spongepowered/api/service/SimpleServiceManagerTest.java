@@ -26,7 +26,6 @@
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
-import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
@@ -114,7 +113,25 @@ public void testSharedReferences() throws ProviderExistsException {
         serviceManager.setProvider(testPlugin, TestInterface.class, new TestImplCow());
 
         final ServiceReference<TestInterface> thirdRef = serviceManager.potentiallyProvide(TestInterface.class);
-        assertNotEquals(firstRef, thirdRef);
+        assertEquals(firstRef, thirdRef);
+        assertEquals("moo", thirdRef.ref().get().bark());
+    }
+
+    @Test
+    public void testReferenceAfterProvide() throws ProviderExistsException {
+        SimpleServiceManager serviceManager = new SimpleServiceManager(manager);
+        serviceManager.setProvider(testPlugin, TestInterface.class, new TestImplCow());
+
+        final ServiceReference<TestInterface> ref = serviceManager.potentiallyProvide(TestInterface.class);
+        assertTrue(ref.ref().isPresent());
+        assertEquals("moo", ref.ref().get().bark());
+
+        final AtomicBoolean ran = new AtomicBoolean(false);
+        ref.executeWhenPresent(input -> {
+            ran.set(true);
+            return true;
+        });
+        assertTrue(ran.get());
 
     }
 
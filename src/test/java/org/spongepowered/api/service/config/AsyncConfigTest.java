@@ -0,0 +1,395 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.service.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.Lists;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.ConfigurationOptions;
+import ninja.leaping.configurate.commented.CommentedConfigurationNode;
+import ninja.leaping.configurate.hocon.HoconConfigurationLoader;
+import ninja.leaping.configurate.loader.ConfigurationLoader;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.slf4j.Logger;
+import org.spongepowered.api.service.scheduler.AsyncPool;
+import org.spongepowered.api.service.scheduler.SchedulerService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+public class AsyncConfigTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final Deque<Runnable> syncTasks = new ArrayDeque<Runnable>();
+    private final List<QueuedTask> asyncTasks = Lists.newArrayList();
+    private final List<CommentedConfigurationNode> reloads = Lists.newArrayList();
+    private boolean onMainThread;
+    private Logger logger;
+    private SchedulerService scheduler;
+    private Path path;
+    private AsyncConfig<CommentedConfigurationNode> config;
+
+    @Before
+    public void setUp() {
+        this.path = this.folder.getRoot().toPath().resolve("test.conf");
+        this.logger = mock(Logger.class);
+
+        final ScheduledExecutorService sync = mock(ScheduledExecutorService.class);
+        doAnswer(invocation -> this.syncTasks.add((Runnable) invocation.getArguments()[0])).when(sync).execute(any(Runnable.class));
+        final ScheduledExecutorService async = mock(ScheduledExecutorService.class);
+        doAnswer(invocation -> queue(invocation.getArguments()[0])).when(async).execute(any(Runnable.class));
+        when(async.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class))).thenAnswer(invocation -> queue(invocation.getArguments()[0]));
+        this.scheduler = mock(SchedulerService.class);
+        when(this.scheduler.createSyncExecutor(any())).thenReturn(sync);
+        when(this.scheduler.createAsyncExecutor(any(), eq(AsyncPool.BLOCKING))).thenReturn(async);
+
+        this.config = AsyncConfig.<CommentedConfigurationNode>builder()
+                .path(this.path)
+                .loader(AsyncConfigTest::loader)
+                .logger(this.logger)
+                .scheduler(new Object(), this.scheduler)
+                .onReload(node -> {
+                    assertTrue(this.onMainThread);
+                    this.reloads.add(node);
+                })
+                .build();
+    }
+
+    private static ConfigurationLoader<CommentedConfigurationNode> loader(Path path) {
+        return HoconConfigurationLoader.builder().setPath(path).build();
+    }
+
+    private ConfigurationLoader<CommentedConfigurationNode> loader(Path path, Runnable beforeSave) {
+        final ConfigurationLoader<CommentedConfigurationNode> loader = loader(path);
+        return new ConfigurationLoader<CommentedConfigurationNode>() {
+
+            @Override
+            public CommentedConfigurationNode load() throws IOException {
+                return loader.load();
+            }
+
+            @Override
+            public CommentedConfigurationNode load(ConfigurationOptions options) throws IOException {
+                return loader.load(options);
+            }
+
+            @Override
+            public void save(ConfigurationNode node) throws IOException {
+                beforeSave.run();
+                loader.save(node);
+            }
+
+            @Override
+            public CommentedConfigurationNode createEmptyNode(ConfigurationOptions options) {
+                return loader.createEmptyNode(options);
+            }
+
+        };
+    }
+
+    private QueuedTask queue(Object task) {
+        final QueuedTask queued = new QueuedTask((Runnable) task);
+        this.asyncTasks.add(queued);
+        return queued;
+    }
+
+    private void runSync() {
+        this.onMainThread = true;
+        try {
+            this.syncTasks.remove().run();
+        } finally {
+            this.onMainThread = false;
+        }
+    }
+
+    private void runAll() {
+        while (!this.asyncTasks.isEmpty() || !this.syncTasks.isEmpty()) {
+            if (this.asyncTasks.isEmpty()) {
+                runSync();
+            } else {
+                this.asyncTasks.remove(0).run();
+            }
+        }
+    }
+
+    private void writeFile(String content) throws IOException {
+        Files.write(this.path, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private CommentedConfigurationNode load() throws IOException {
+        if (!Files.exists(this.path)) {
+            writeFile("");
+        }
+        final CompletableFuture<CommentedConfigurationNode> future = this.config.load();
+        runAll();
+        return future.join();
+    }
+
+    private CommentedConfigurationNode readFile() throws IOException {
+        return loader(this.path).load();
+    }
+
+    @Test
+    public void testLoadOnMainThread() throws IOException {
+        writeFile("a = 1\n");
+        final CompletableFuture<CommentedConfigurationNode> future = this.config.load();
+        final boolean[] completedOnMainThread = new boolean[1];
+        future.whenComplete((node, ex) -> completedOnMainThread[0] = this.onMainThread);
+        assertFalse(future.isDone());
+
+        runAll();
+        assertTrue(completedOnMainThread[0]);
+        assertSame(future.join(), this.config.getNode());
+        assertEquals(1, this.config.getNode().getNode("a").getInt());
+    }
+
+    @Test
+    public void testLoadFailureOnMainThread() throws IOException, InterruptedException {
+        writeFile("a = {\n");
+        final CompletableFuture<CommentedConfigurationNode> future = this.config.load();
+        final boolean[] completedOnMainThread = new boolean[1];
+        future.whenComplete((node, ex) -> completedOnMainThread[0] = this.onMainThread);
+
+        runAll();
+        assertTrue(completedOnMainThread[0]);
+        try {
+            future.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof UncheckedIOException);
+        }
+    }
+
+    @Test
+    public void testSaveWritesCopy() throws IOException {
+        load();
+        final CompletableFuture<Void> first = this.config.modify(node -> node.getNode("a").setValue(1));
+        final CompletableFuture<Void> second = this.config.modify(node -> node.getNode("a").setValue(2));
+        assertSame(first, second);
+        assertEquals(1, this.asyncTasks.size());
+
+        // Not saved, so the write must not see it
+        this.config.getNode().getNode("a").setValue(3);
+        runAll();
+        assertTrue(first.isDone());
+        assertEquals(2, readFile().getNode("a").getInt());
+        assertEquals(3, this.config.getNode().getNode("a").getInt());
+    }
+
+    @Test
+    public void testSaveWhileWriting() throws IOException {
+        final List<CompletableFuture<Void>> saves = Lists.newArrayList();
+        this.config = AsyncConfig.<CommentedConfigurationNode>builder()
+                .path(this.path)
+                .loader(path -> loader(path, () -> {
+                    if (saves.size() == 1) {
+                        // Saved again while the first write is in progress
+                        saves.add(this.config.modify(node -> node.getNode("a").setValue(2)));
+                        assertTrue(this.asyncTasks.isEmpty());
+                    }
+                }))
+                .logger(this.logger)
+                .scheduler(new Object(), this.scheduler)
+                .build();
+        load();
+        saves.add(this.config.modify(node -> node.getNode("a").setValue(1)));
+        this.asyncTasks.remove(0).run();
+        assertTrue(saves.get(0).isDone());
+        assertFalse(saves.get(1).isDone());
+        assertEquals(1, readFile().getNode("a").getInt());
+        // The second write only starts once the first finished
+        assertEquals(1, this.asyncTasks.size());
+
+        runAll();
+        assertTrue(saves.get(1).isDone());
+        assertEquals(2, readFile().getNode("a").getInt());
+    }
+
+    @Test
+    public void testCopyKeepsStructure() throws IOException {
+        load();
+        this.config.modify(node -> {
+            node.getNode("section", "value").setValue("text").setComment("A comment");
+            node.getNode("empty").setValue(Collections.emptyMap());
+            node.getNode("list").getAppendedNode().getNode("key").setValue(1);
+            node.getNode("list").getAppendedNode().setValue("two");
+        });
+        runAll();
+
+        final String content = new String(Files.readAllBytes(this.path), StandardCharsets.UTF_8);
+        assertTrue(content, content.contains("# A comment"));
+        final CommentedConfigurationNode node = readFile();
+        assertEquals("text", node.getNode("section", "value").getString());
+        assertFalse(node.getNode("empty").isVirtual());
+        assertEquals(2, node.getNode("list").getChildrenList().size());
+        assertEquals(1, node.getNode("list").getChildrenList().get(0).getNode("key").getInt());
+        assertEquals("two", node.getNode("list").getChildrenList().get(1).getString());
+    }
+
+    @Test
+    public void testFlush() throws IOException {
+        load();
+        final CompletableFuture<Void> save = this.config.modify(node -> node.getNode("a").setValue(1));
+        assertSame(save, this.config.flush());
+        assertEquals(2, this.asyncTasks.size());
+        assertTrue(this.asyncTasks.get(0).isCancelled());
+
+        runAll();
+        assertTrue(save.isDone());
+        assertTrue(this.config.flush().isDone());
+        assertEquals(1, readFile().getNode("a").getInt());
+    }
+
+    @Test
+    public void testReload() throws IOException {
+        load();
+        writeFile("a = 5\n");
+        this.config.scheduleReload();
+        this.config.scheduleReload();
+        assertEquals(1, this.asyncTasks.size());
+
+        runAll();
+        assertEquals(1, this.reloads.size());
+        assertSame(this.reloads.get(0), this.config.getNode());
+        assertEquals(5, this.config.getNode().getNode("a").getInt());
+    }
+
+    @Test
+    public void testReloadIgnoresOwnWrites() throws IOException {
+        load();
+        this.config.modify(node -> node.getNode("a").setValue(1));
+        runAll();
+        this.config.scheduleReload();
+        runAll();
+        assertTrue(this.reloads.isEmpty());
+
+        // Changes within the modification time granularity are still seen
+        final FileTime written = Files.getLastModifiedTime(this.path);
+        writeFile("a = 2\n");
+        Files.setLastModifiedTime(this.path, written);
+        this.config.scheduleReload();
+        runAll();
+        assertEquals(1, this.reloads.size());
+        assertEquals(2, this.config.getNode().getNode("a").getInt());
+    }
+
+    @Test
+    public void testReloadSkippedWhileSavePending() throws IOException {
+        load();
+        writeFile("a = 5\n");
+        this.config.modify(node -> node.getNode("a").setValue(1));
+        this.config.scheduleReload();
+        assertEquals(2, this.asyncTasks.size());
+
+        // Run the reload before the write
+        this.asyncTasks.remove(1).run();
+        runAll();
+        assertTrue(this.reloads.isEmpty());
+        verify(this.logger).warn(anyString(), eq(this.config.getPath()));
+        assertEquals(1, this.config.getNode().getNode("a").getInt());
+        assertEquals(1, readFile().getNode("a").getInt());
+    }
+
+    @Test
+    public void testReloadDiscardedWhenSavedWhileReading() throws IOException {
+        load();
+        writeFile("a = 5\n");
+        this.config.scheduleReload();
+        this.asyncTasks.remove(0).run();
+        assertEquals(1, this.syncTasks.size());
+
+        this.config.modify(node -> node.getNode("a").setValue(1));
+        runAll();
+        assertTrue(this.reloads.isEmpty());
+        verify(this.logger).warn(anyString(), eq(this.config.getPath()));
+        assertEquals(1, this.config.getNode().getNode("a").getInt());
+        assertEquals(1, readFile().getNode("a").getInt());
+    }
+
+    @Test
+    public void testReloadFailureLogged() throws IOException {
+        final CommentedConfigurationNode loaded = load();
+        writeFile("a = {\n");
+        this.config.scheduleReload();
+        runAll();
+        assertTrue(this.reloads.isEmpty());
+        assertSame(loaded, this.config.getNode());
+        verify(this.logger).error(anyString(), any(Throwable.class));
+        verify(this.logger, never()).warn(anyString(), any(Object.class));
+    }
+
+    private static final class QueuedTask extends FutureTask<Void> implements ScheduledFuture<Void> {
+
+        QueuedTask(Runnable task) {
+            super(task, null);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return 0;
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            return 0;
+        }
+
+    }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.service.pagination;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.Texts;
+import org.spongepowered.api.util.command.CommandSource;
+import org.spongepowered.api.util.test.TestHooks;
+
+import java.util.Locale;
+
+public class CachingPaginationCalculatorTest {
+
+    static {
+        TestHooks.initialize();
+    }
+
+    @SuppressWarnings("unchecked")
+    private final PaginationCalculator<CommandSource> delegate = Mockito.mock(PaginationCalculator.class);
+    private final CachingPaginationCalculator<CommandSource> calculator = new CachingPaginationCalculator<CommandSource>(this.delegate);
+
+    @Test
+    public void testCachedPerText() {
+        Mockito.when(this.delegate.getLines(Matchers.<CommandSource>any(), Matchers.<Text>any())).thenReturn(2);
+        final CommandSource source = source("console");
+
+        assertEquals(2, this.calculator.getLines(source, Texts.of("Hello")));
+        // Equal texts share the entry
+        assertEquals(2, this.calculator.getLines(source, Texts.of("Hello")));
+        Mockito.verify(this.delegate).getLines(source, Texts.of("Hello"));
+
+        this.calculator.getLines(source, Texts.of("World"));
+        Mockito.verify(this.delegate).getLines(source, Texts.of("World"));
+    }
+
+    @Test
+    public void testCachedPerSource() {
+        final CommandSource first = source("first");
+        final CommandSource second = source("second");
+        final Text text = Texts.of("Hello");
+
+        this.calculator.getLines(first, text);
+        this.calculator.getLines(second, text);
+        this.calculator.getLines(first, text);
+        Mockito.verify(this.delegate).getLines(first, text);
+        Mockito.verify(this.delegate).getLines(second, text);
+    }
+
+    @Test
+    public void testCachedPerLocale() {
+        final Player player = Mockito.mock(Player.class);
+        Mockito.when(player.getIdentifier()).thenReturn("player");
+        Mockito.when(player.getLocale()).thenReturn(Locale.ENGLISH);
+        final Text text = Texts.of("Hello");
+
+        this.calculator.getLines(player, text);
+        this.calculator.getLines(player, text);
+        Mockito.verify(this.delegate, Mockito.times(1)).getLines(player, text);
+
+        // The client switched its language
+        Mockito.when(player.getLocale()).thenReturn(Locale.GERMAN);
+        this.calculator.getLines(player, text);
+        Mockito.verify(this.delegate, Mockito.times(2)).getLines(player, text);
+    }
+
+    @Test
+    public void testInvalidate() {
+        final CommandSource first = source("first");
+        final CommandSource second = source("second");
+        final Text text = Texts.of("Hello");
+        this.calculator.getLines(first, text);
+        this.calculator.getLines(second, text);
+
+        this.calculator.invalidate(first);
+        this.calculator.getLines(first, text);
+        this.calculator.getLines(second, text);
+        Mockito.verify(this.delegate, Mockito.times(2)).getLines(first, text);
+        Mockito.verify(this.delegate, Mockito.times(1)).getLines(second, text);
+
+        this.calculator.invalidateAll();
+        this.calculator.getLines(second, text);
+        Mockito.verify(this.delegate, Mockito.times(2)).getLines(second, text);
+    }
+
+    @Test
+    public void testMaximumSize() {
+        final CachingPaginationCalculator<CommandSource> calculator = new CachingPaginationCalculator<CommandSource>(this.delegate, 1);
+        final CommandSource source = source("console");
+
+        calculator.getLines(source, Texts.of("Hello"));
+        calculator.getLines(source, Texts.of("World"));
+        calculator.getLines(source, Texts.of("Hello"));
+        Mockito.verify(this.delegate, Mockito.times(2)).getLines(source, Texts.of("Hello"));
+    }
+
+    private static CommandSource source(String identifier) {
+        final CommandSource source = Mockito.mock(CommandSource.class);
+        Mockito.when(source.getIdentifier()).thenReturn(identifier);
+        return source;
+    }
+
+}
@@ -0,0 +1,338 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.service.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.Lists;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+public class TaskExecutorServiceTest {
+
+    private final List<ManualTask> tasks = Lists.newArrayList();
+    @Nullable private Consumer<ManualTask> onSubmit;
+    private TaskExecutorService executor;
+
+    @Before
+    public void setUp() {
+        final SchedulerService scheduler = Mockito.mock(SchedulerService.class);
+        Mockito.when(scheduler.createTaskBuilder()).thenAnswer(invocation -> new ManualTaskBuilder());
+        this.executor = new TaskExecutorService(scheduler, new Object(), null);
+    }
+
+    private ManualTask last() {
+        return this.tasks.get(this.tasks.size() - 1);
+    }
+
+    @Test
+    public void testSubmit() throws Exception {
+        final Future<String> future = this.executor.submit(() -> "done");
+        assertEquals(1, this.tasks.size());
+        assertEquals(0, last().delay);
+        assertEquals(0, last().interval);
+        assertNull(last().pool);
+        assertFalse(future.isDone());
+
+        last().run();
+        assertEquals("done", future.get());
+        assertTrue(last().cancelled);
+    }
+
+    @Test
+    public void testAsyncPool() {
+        final SchedulerService scheduler = Mockito.mock(SchedulerService.class);
+        Mockito.when(scheduler.createTaskBuilder()).thenAnswer(invocation -> new ManualTaskBuilder());
+        new TaskExecutorService(scheduler, new Object(), AsyncPool.BLOCKING).execute(() -> { });
+        assertEquals(AsyncPool.BLOCKING, last().pool);
+    }
+
+    @Test
+    public void testSchedule() {
+        final ScheduledFuture<?> future = this.executor.schedule(() -> { }, 5, TimeUnit.SECONDS);
+        assertEquals(TimeUnit.SECONDS.toNanos(5), last().delay);
+        assertTrue(future.getDelay(TimeUnit.MILLISECONDS) > 4000);
+        assertFalse(future.isDone());
+
+        assertTrue(future.cancel(false));
+        assertTrue(last().cancelled);
+    }
+
+    @Test
+    public void testFixedRate() {
+        final AtomicInteger runs = new AtomicInteger();
+        final ScheduledFuture<?> future = this.executor.scheduleAtFixedRate(runs::incrementAndGet, 5, 10, TimeUnit.MILLISECONDS);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(5), last().delay);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(10), last().interval);
+
+        final long delay = future.getDelay(TimeUnit.NANOSECONDS);
+        last().run();
+        last().run();
+        assertEquals(2, runs.get());
+        // The scheduler repeats the single task, nothing is resubmitted
+        assertEquals(1, this.tasks.size());
+        assertFalse(future.isDone());
+        assertTrue(future.getDelay(TimeUnit.NANOSECONDS) > delay);
+
+        future.cancel(false);
+        assertTrue(last().cancelled);
+    }
+
+    @Test
+    public void testFixedDelay() {
+        final AtomicInteger runs = new AtomicInteger();
+        final ScheduledFuture<?> future = this.executor.scheduleWithFixedDelay(runs::incrementAndGet, 5, 10, TimeUnit.MILLISECONDS);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(5), last().delay);
+        assertEquals(0, last().interval);
+
+        last().run();
+        assertEquals(1, runs.get());
+        // Every run submits a new task with the delay
+        assertEquals(2, this.tasks.size());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(10), last().delay);
+        assertEquals(0, last().interval);
+        assertFalse(future.isDone());
+
+        future.cancel(false);
+        assertTrue(last().cancelled);
+    }
+
+    @Test
+    public void testPeriodicFailure() throws Exception {
+        final ScheduledFuture<?> future = this.executor.scheduleAtFixedRate(() -> {
+            throw new IllegalStateException();
+        }, 0, 10, TimeUnit.MILLISECONDS);
+        last().run();
+        assertTrue(future.isDone());
+        assertTrue(last().cancelled);
+        try {
+            future.get();
+            throw new AssertionError("Expected ExecutionException");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        this.executor.shutdown();
+        assertTrue(this.executor.isTerminated());
+    }
+
+    @Test
+    public void testShutdown() throws Exception {
+        final ScheduledFuture<?> delayed = this.executor.schedule(() -> { }, 1, TimeUnit.SECONDS);
+        final ManualTask delayedTask = last();
+        final ScheduledFuture<?> periodic = this.executor.scheduleAtFixedRate(() -> { }, 0, 1, TimeUnit.SECONDS);
+        final ManualTask periodicTask = last();
+
+        this.executor.shutdown();
+        assertTrue(this.executor.isShutdown());
+        assertTrue(periodic.isCancelled());
+        assertTrue(periodicTask.cancelled);
+        assertFalse(delayed.isDone());
+        assertFalse(delayedTask.cancelled);
+        assertFalse(this.executor.isTerminated());
+        assertFalse(this.executor.awaitTermination(1, TimeUnit.MILLISECONDS));
+
+        try {
+            this.executor.execute(() -> { });
+            throw new AssertionError("Expected RejectedExecutionException");
+        } catch (RejectedExecutionException expected) {
+            // Expected
+        }
+
+        delayedTask.run();
+        assertTrue(delayed.isDone());
+        assertTrue(this.executor.isTerminated());
+        assertTrue(this.executor.awaitTermination(0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testShutdownFixedDelay() {
+        final AtomicInteger runs = new AtomicInteger();
+        final ScheduledFuture<?> future = this.executor.scheduleWithFixedDelay(runs::incrementAndGet, 0, 10, TimeUnit.MILLISECONDS);
+        final ManualTask task = last();
+        this.executor.shutdown();
+        assertTrue(future.isCancelled());
+
+        // A run already in progress must not resubmit the task
+        task.run();
+        assertEquals(0, runs.get());
+        assertEquals(1, this.tasks.size());
+        assertTrue(this.executor.isTerminated());
+    }
+
+    @Test
+    public void testShutdownNow() {
+        final Future<?> first = this.executor.submit(() -> { });
+        final Future<?> second = this.executor.schedule(() -> { }, 1, TimeUnit.SECONDS);
+
+        final List<Runnable> cancelled = this.executor.shutdownNow();
+        assertEquals(2, cancelled.size());
+        assertTrue(cancelled.contains(first));
+        assertTrue(cancelled.contains(second));
+        assertTrue(first.isCancelled());
+        assertTrue(second.isCancelled());
+        for (ManualTask task : this.tasks) {
+            assertTrue(task.cancelled);
+        }
+        assertTrue(this.executor.isTerminated());
+    }
+
+    @Test
+    public void testCompletedBeforeSetTask() throws Exception {
+        // The scheduler runs the task before submit returns it
+        this.onSubmit = ManualTask::run;
+        final Future<String> future = this.executor.submit(() -> "done");
+        assertEquals("done", future.get());
+        assertTrue(last().cancelled);
+        this.executor.shutdown();
+        assertTrue(this.executor.isTerminated());
+    }
+
+    @Test
+    public void testCancelBeforeSetTask() {
+        final ScheduledFuture<?> future = this.executor.scheduleWithFixedDelay(() -> { }, 0, 10, TimeUnit.MILLISECONDS);
+        // Cancel while the next run is being submitted, before its task is known
+        this.onSubmit = task -> future.cancel(false);
+        last().run();
+        assertEquals(2, this.tasks.size());
+        assertTrue(future.isCancelled());
+        assertTrue(last().cancelled);
+    }
+
+    private final class ManualTask {
+
+        private final Consumer<Task> consumer;
+        private final long delay;
+        private final long interval;
+        @Nullable private final AsyncPool pool;
+        private final Task task = Mockito.mock(Task.class);
+        private boolean cancelled;
+
+        ManualTask(Consumer<Task> consumer, long delay, long interval, @Nullable AsyncPool pool) {
+            this.consumer = consumer;
+            this.delay = delay;
+            this.interval = interval;
+            this.pool = pool;
+            Mockito.when(this.task.cancel()).thenAnswer(invocation -> {
+                final boolean wasCancelled = this.cancelled;
+                this.cancelled = true;
+                return !wasCancelled;
+            });
+        }
+
+        void run() {
+            this.consumer.accept(this.task);
+        }
+
+    }
+
+    private final class ManualTaskBuilder implements TaskBuilder {
+
+        @Nullable private Consumer<Task> consumer;
+        private long delay;
+        private long interval;
+        @Nullable private AsyncPool pool;
+
+        @Override
+        public TaskBuilder async(AsyncPool pool) {
+            this.pool = pool;
+            return this;
+        }
+
+        @Override
+        public TaskBuilder execute(Consumer<Task> executor) {
+            this.consumer = executor;
+            return this;
+        }
+
+        @Override
+        public TaskBuilder delay(long delay, TimeUnit unit) {
+            this.delay = unit.toNanos(delay);
+            return this;
+        }
+
+        @Override
+        public TaskBuilder delayTicks(long ticks) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public TaskBuilder interval(long interval, TimeUnit unit) {
+            this.interval = unit.toNanos(interval);
+            return this;
+        }
+
+        @Override
+        public TaskBuilder intervalTicks(long ticks) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public TaskBuilder budget(long budget, TimeUnit unit) {
+            return this;
+        }
+
+        @Override
+        public TaskBuilder deferrable() {
+            return this;
+        }
+
+        @Override
+        public TaskBuilder spread() {
+            return this;
+        }
+
+        @Override
+        public TaskBuilder name(String name) {
+            return this;
+        }
+
+        @Override
+        public Task submit(Object plugin) {
+            final ManualTask task = new ManualTask(this.consumer, this.delay, this.interval, this.pool);
+            TaskExecutorServiceTest.this.tasks.add(task);
+            if (TaskExecutorServiceTest.this.onSubmit != null) {
+                TaskExecutorServiceTest.this.onSubmit.accept(task);
+            }
+            return task.task;
+        }
+
+    }
+
+}
@@ -0,0 +1,191 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.service.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+public class TimingWheelTest {
+
+    private static final long[] DELAYS = {
+            1, 2, 63, 64, 65, 127, 128, 4095, 4096, 4097, 4160, 262143, 262144, 262145, 266305
+    };
+
+    private static void advanceTo(TimingWheel<Long> wheel, long tick, List<Long> due) {
+        while (wheel.getCurrentTick() < tick) {
+            final long current = wheel.getCurrentTick() + 1;
+            wheel.advance(deadline -> {
+                assertEquals((long) deadline, current);
+                due.add(deadline);
+            });
+        }
+    }
+
+    @Test
+    public void testDueAfterDelay() {
+        final TimingWheel<Long> wheel = new TimingWheel<>();
+        for (long delay : DELAYS) {
+            assertEquals(delay, wheel.schedule(delay, delay).getDeadline());
+        }
+        assertEquals(DELAYS.length, wheel.size());
+
+        final List<Long> due = Lists.newArrayList();
+        advanceTo(wheel, DELAYS[DELAYS.length - 1], due);
+        assertEquals(DELAYS.length, due.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testCascadingFromLaterTicks() {
+        // Schedule from ticks that are not aligned to any slot boundary, so
+        // values spanning a boundary of each level are moved down correctly
+        final TimingWheel<Long> wheel = new TimingWheel<>();
+        final List<Long> due = Lists.newArrayList();
+        advanceTo(wheel, 4096 - 3, due);
+        for (long delay : DELAYS) {
+            wheel.schedule(wheel.getCurrentTick() + delay, delay);
+        }
+        advanceTo(wheel, wheel.getCurrentTick() + DELAYS[DELAYS.length - 1], due);
+        assertEquals(DELAYS.length, due.size());
+    }
+
+    @Test
+    public void testRandomDelays() {
+        final Random random = new Random(42);
+        final TimingWheel<Long> wheel = new TimingWheel<>();
+        final List<Long> due = Lists.newArrayList();
+        int scheduled = 0;
+        for (int i = 0; i < 200; i++) {
+            for (int j = random.nextInt(10); j > 0; j--) {
+                final long delay = 1 + random.nextInt(1 << (1 + random.nextInt(20)));
+                wheel.schedule(wheel.getCurrentTick() + delay, delay);
+                scheduled++;
+            }
+            advanceTo(wheel, wheel.getCurrentTick() + random.nextInt(5000), due);
+        }
+        advanceTo(wheel, wheel.getCurrentTick() + (1 << 20), due);
+        assertEquals(scheduled, due.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testNonPositiveDelay() {
+        final TimingWheel<Long> wheel = new TimingWheel<>();
+        assertEquals(1, wheel.schedule(1L, 0).getDeadline());
+        assertEquals(1, wheel.schedule(1L, -5).getDeadline());
+        assertEquals(1, wheel.schedule(1L, Long.MIN_VALUE).getDeadline());
+
+        final List<Long> due = Lists.newArrayList();
+        advanceTo(wheel, 1, due);
+        assertEquals(3, due.size());
+    }
+
+    @Test
+    public void testScheduleWhileAdvancing() {
+        final TimingWheel<String> wheel = new TimingWheel<>();
+        final List<String> due = Lists.newArrayList();
+        wheel.schedule("first", 1);
+        wheel.advance(value -> {
+            due.add(value);
+            wheel.schedule("second", 0);
+        });
+        assertEquals(Lists.newArrayList("first"), due);
+        assertEquals(1, wheel.size());
+
+        wheel.advance(due::add);
+        assertEquals(Lists.newArrayList("first", "second"), due);
+    }
+
+    @Test
+    public void testCancel() {
+        final TimingWheel<Long> wheel = new TimingWheel<>();
+        final TimingWheel.Entry<Long> near = wheel.schedule(10L, 10);
+        final TimingWheel.Entry<Long> far = wheel.schedule(5000L, 5000);
+        final TimingWheel.Entry<Long> kept = wheel.schedule(5000L, 5000);
+        assertEquals(3, wheel.size());
+
+        assertTrue(near.cancel());
+        assertFalse(near.isScheduled());
+        assertFalse(near.cancel());
+        assertEquals(2, wheel.size());
+
+        final List<Long> due = Lists.newArrayList();
+        // Cancel after the value was moved down from the coarser level
+        advanceTo(wheel, 4096, due);
+        assertTrue(far.isScheduled());
+        assertTrue(far.cancel());
+        assertEquals(1, wheel.size());
+
+        advanceTo(wheel, 5000, due);
+        assertEquals(Lists.newArrayList(5000L), due);
+        assertFalse(kept.isScheduled());
+        assertFalse(kept.cancel());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testCancelWhileAdvancing() {
+        final TimingWheel<String> wheel = new TimingWheel<>();
+        final List<String> due = Lists.newArrayList();
+        wheel.schedule("first", 1);
+        final TimingWheel.Entry<String> second = wheel.schedule("second", 1);
+        wheel.advance(value -> {
+            due.add(value);
+            second.cancel();
+        });
+        assertEquals(Lists.newArrayList("first"), due);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testMaxDelay() {
+        final TimingWheel<Long> wheel = new TimingWheel<>();
+        final TimingWheel.Entry<Long> first = wheel.schedule(Long.MAX_VALUE, Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, first.getDeadline());
+
+        final List<Long> due = Lists.newArrayList();
+        advanceTo(wheel, 1 << 20, due);
+        // The deadline is capped instead of overflowing
+        final TimingWheel.Entry<Long> second = wheel.schedule(Long.MAX_VALUE, Long.MAX_VALUE);
+        final TimingWheel.Entry<Long> third = wheel.schedule(Long.MAX_VALUE, Long.MAX_VALUE - 1);
+        assertEquals(Long.MAX_VALUE, second.getDeadline());
+        assertEquals(Long.MAX_VALUE, third.getDeadline());
+        advanceTo(wheel, (1 << 20) + 100, due);
+
+        assertTrue(due.isEmpty());
+        assertEquals(3, wheel.size());
+        assertTrue(first.isScheduled());
+        assertTrue(second.cancel());
+        assertEquals(2, wheel.size());
+    }
+
+}
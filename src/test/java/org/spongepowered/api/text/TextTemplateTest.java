@@ -0,0 +1,76 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.text;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class TextTemplateTest {
+
+    private final Text template = Texts.builder("Player ")
+            .append(Texts.placeholder("0"))
+            .append(Texts.of(" has killed "))
+            .append(Texts.placeholder("1"))
+            .append(Texts.of(" with "))
+            .append(Texts.placeholder("2", Texts.of("his bare hands")))
+            .build();
+
+    @Test
+    public void testKeys() {
+        assertEquals(ImmutableList.of("0", "1", "2"), TextTemplate.of(this.template).getKeys());
+    }
+
+    @Test
+    public void testApplyArray() {
+        TextTemplate compiled = TextTemplate.of(this.template);
+        assertEquals(Texts.format(this.template, "PvPMaster", "Innocent", "Stick of Doom"),
+                compiled.apply("PvPMaster", "Innocent", "Stick of Doom"));
+        assertEquals(Texts.format(this.template, "PvPMaster", null), compiled.apply("PvPMaster", null));
+        assertSame(this.template, compiled.apply());
+    }
+
+    @Test
+    public void testApplyMap() {
+        TextTemplate compiled = TextTemplate.of(this.template);
+        Map<String, Object> replacements = new HashMap<String, Object>();
+        replacements.put("1", "Innocent");
+        replacements.put("2", "Stick of Doom");
+        assertEquals(Texts.format(this.template, replacements), compiled.apply(replacements));
+        assertSame(this.template, compiled.apply(new HashMap<String, Object>()));
+    }
+
+    @Test
+    public void testStaticTemplate() {
+        Text text = Texts.of("No placeholders here");
+        assertSame(text, TextTemplate.of(text).apply("unused"));
+    }
+
+}
@@ -0,0 +1,150 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.text;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.spongepowered.api.item.inventory.ItemStack;
+import org.spongepowered.api.text.action.TextActions;
+import org.spongepowered.api.text.translation.Translation;
+import org.spongepowered.api.util.test.TestHooks;
+
+import java.util.List;
+import java.util.Locale;
+
+public class TextTest {
+
+    static {
+        TestHooks.initialize();
+    }
+
+    @Test
+    public void testPlainCached() {
+        final Text text = Texts.builder("Hello").append(Texts.of(" world")).build();
+        assertEquals("Hello world", text.toPlain());
+        assertSame(text.toPlain(), text.toPlain());
+    }
+
+    @Test
+    public void testTranslatablePlainNotCached() {
+        final MutableTranslation translation = new MutableTranslation();
+        translation.value = "Hello";
+        final Text text = Texts.builder("> ").append(Texts.of(translation)).build();
+        assertEquals("> Hello", text.toPlain());
+
+        translation.value = "Bonjour";
+        assertEquals("> Bonjour", text.toPlain());
+    }
+
+    @Test
+    public void testMutableTranslationArguments() {
+        final MutableTranslation translation = new MutableTranslation();
+        final List<String> first = Lists.newArrayList("a");
+        final Text firstText = Texts.of(translation, first);
+        final int hash = firstText.hashCode();
+
+        first.add("b");
+        final Text secondText = Texts.of(translation, Lists.newArrayList("a", "b"));
+        assertNotEquals(hash, firstText.hashCode());
+        assertEquals(secondText.hashCode(), firstText.hashCode());
+        assertEquals(secondText, firstText);
+    }
+
+    @Test
+    public void testImmutableTranslationArguments() {
+        final MutableTranslation translation = new MutableTranslation();
+        final Text first = Texts.of(translation, "a", 1, Texts.of("b"));
+        final Text second = Texts.of(translation, "a", 1, Texts.of("b"));
+        assertEquals(first.hashCode(), second.hashCode());
+        assertEquals(first, second);
+        assertNotEquals(first, Texts.of(translation, "a", 2, Texts.of("b")));
+    }
+
+    @Test
+    public void testMutableHoverText() {
+        final MutableTranslation translation = new MutableTranslation();
+        final List<String> arguments = Lists.newArrayList("a");
+        final Text hover = Texts.of(translation, arguments);
+        final Text first = Texts.builder("text").onHover(TextActions.showText(hover)).build();
+        final int hash = first.hashCode();
+
+        arguments.add("b");
+        final Text second = Texts.builder("text").onHover(TextActions.showText(Texts.of(translation, Lists.newArrayList("a", "b")))).build();
+        assertNotEquals(hash, first.hashCode());
+        assertEquals(second, first);
+    }
+
+    @Test
+    public void testShownItemNotCached() {
+        final Text text = Texts.builder("item").onHover(TextActions.showItem(Mockito.mock(ItemStack.class))).build();
+        assertFalse(text.isCacheable());
+        assertTrue(Texts.builder("text").onHover(TextActions.showText(Texts.of("hover"))).build().isCacheable());
+    }
+
+    @Test
+    public void testIntern() {
+        final Text text = Texts.intern(Texts.builder("interned").append(Texts.of("!")).build());
+        assertSame(text, Texts.intern(Texts.builder("interned").append(Texts.of("!")).build()));
+
+        // Texts that may change are not interned
+        final MutableTranslation translation = new MutableTranslation();
+        final Text mutable = Texts.of(translation, Lists.newArrayList("a"));
+        assertSame(mutable, Texts.intern(mutable));
+        final Text other = Texts.of(translation, Lists.newArrayList("a"));
+        assertSame(other, Texts.intern(other));
+    }
+
+    /**
+     * A translation whose value changes, as after reloading translations.
+     */
+    static final class MutableTranslation implements Translation {
+
+        String value = "";
+
+        @Override
+        public String getId() {
+            return "test";
+        }
+
+        @Override
+        public String get(Locale locale) {
+            return this.value;
+        }
+
+        @Override
+        public String get(Locale locale, Object... args) {
+            return String.format(this.value, args);
+        }
+
+    }
+
+}
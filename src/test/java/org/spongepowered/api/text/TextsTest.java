@@ -25,6 +25,8 @@
 package org.spongepowered.api.text;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
 
 import org.junit.Test;
 
@@ -77,6 +79,15 @@ public void testFormatArray() {
         assertEquals(expected, formated);
     }
 
+    @Test
+    public void testIntern() {
+        Text first = Texts.builder("Member").append(Texts.of(" name")).build();
+        Text second = Texts.builder("Member").append(Texts.of(" name")).build();
+        assertEquals(first.hashCode(), second.hashCode());
+        assertSame(Texts.intern(first), Texts.intern(second));
+        assertNotEquals(first, Texts.of("Member name"));
+    }
+
     private Text build(Text killer, Text killed, Text weapon) {
         return Texts.builder("Player ")
                 .append(killer)
@@ -0,0 +1,192 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.text;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+
+public class Utf8AppendableTest {
+
+    private static byte[] encode(CharSequence... parts) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final Utf8Appendable appendable = new Utf8Appendable(out);
+        for (CharSequence part : parts) {
+            appendable.append(part);
+        }
+        appendable.finish();
+        return out.toByteArray();
+    }
+
+    private static byte[] utf8(String string) {
+        return string.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testEncoding() throws IOException {
+        for (String string : Arrays.asList("", "plain ascii", "\u00e9t\u00e9", "\u20ac 5", "\u65e5\u672c\u8a9e", "\ud83d\ude00 smile")) {
+            assertArrayEquals(string, utf8(string), encode(string));
+        }
+    }
+
+    @Test
+    public void testSurrogatePairSplitAcrossAppends() throws IOException {
+        assertArrayEquals(utf8("a\ud83d\ude00b"), encode("a\ud83d", "\ude00b"));
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final Utf8Appendable appendable = new Utf8Appendable(out);
+        appendable.append('\ud83d').append('\ude00');
+        appendable.finish();
+        assertArrayEquals(utf8("\ud83d\ude00"), out.toByteArray());
+    }
+
+    @Test
+    public void testUnpairedSurrogates() throws IOException {
+        // Unpaired surrogates are replaced the same way String.getBytes does
+        assertArrayEquals(utf8("a\ude00b"), encode("a\ude00b"));
+        assertArrayEquals(utf8("a\ud83db"), encode("a\ud83d", "b"));
+        assertArrayEquals(utf8("\ud83d\ud83d\ude00"), encode("\ud83d", "\ud83d\ude00"));
+        assertArrayEquals(utf8("a\ud83d"), encode("a\ud83d"));
+    }
+
+    @Test
+    public void testRange() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final Utf8Appendable appendable = new Utf8Appendable(out);
+        appendable.append("xx\u00e9\ud83d", 2, 4).append("\ude00yy", 0, 1).append(null, 0, 2);
+        appendable.finish();
+        assertArrayEquals(utf8("\u00e9\ud83d\ude00nu"), out.toByteArray());
+    }
+
+    @Test
+    public void testByteBuffer() throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.put((byte) 1);
+        final Utf8Appendable appendable = new Utf8Appendable(buffer);
+        appendable.append("\u00e9\ud83d").append("\ude00");
+        appendable.finish();
+        final byte[] expected = utf8("\u00e9\ud83d\ude00");
+        assertEquals(1 + expected.length, buffer.position());
+        buffer.flip().position(1);
+        final byte[] actual = new byte[buffer.remaining()];
+        buffer.get(actual);
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test(expected = BufferOverflowException.class)
+    public void testByteBufferOverflow() throws IOException {
+        new Utf8Appendable(ByteBuffer.allocate(2)).append("\u20ac");
+    }
+
+    @Test
+    public void testRepresentationDefaults() throws IOException {
+        final String expected = "caf\u00e9 \ud83d\ude00";
+        for (TextRepresentation representation : Arrays.asList(new StringRepresentation(expected), new AppendingRepresentation(expected))) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            representation.writeUtf8(Texts.of(), out);
+            assertArrayEquals(utf8(expected), out.toByteArray());
+
+            final ByteBuffer buffer = ByteBuffer.allocate(32);
+            representation.writeUtf8(Texts.of(), buffer);
+            assertArrayEquals(utf8(expected), Arrays.copyOf(buffer.array(), buffer.position()));
+
+            // A PrintStream is both an OutputStream and an Appendable
+            final ByteArrayOutputStream printed = new ByteArrayOutputStream();
+            final PrintStream stream = new PrintStream(printed, true, "UTF-8");
+            representation.writeUtf8(Texts.of(), stream);
+            representation.appendTo(Texts.of(), stream);
+            stream.flush();
+            assertArrayEquals(utf8(expected + expected), printed.toByteArray());
+        }
+    }
+
+    /**
+     * Only returns the whole string.
+     */
+    private static class StringRepresentation implements TextRepresentation {
+
+        private final String output;
+
+        StringRepresentation(String output) {
+            this.output = output;
+        }
+
+        @Override
+        public String to(Text text) {
+            return this.output;
+        }
+
+        @Override
+        public String to(Text text, Locale locale) {
+            return this.output;
+        }
+
+        @Override
+        public Text from(String input) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Text fromUnchecked(String input) {
+            throw new UnsupportedOperationException();
+        }
+
+    }
+
+    /**
+     * Appends its output one char at a time.
+     */
+    private static final class AppendingRepresentation extends StringRepresentation {
+
+        AppendingRepresentation(String output) {
+            super(output);
+        }
+
+        @Override
+        public String to(Text text) {
+            throw new AssertionError("Should append directly");
+        }
+
+        @Override
+        public void appendTo(Text text, Appendable out) throws IOException {
+            final String output = super.to(text);
+            for (int i = 0; i < output.length(); i++) {
+                out.append(output.charAt(i));
+            }
+        }
+
+    }
+
+}
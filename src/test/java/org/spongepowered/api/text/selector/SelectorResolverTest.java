@@ -0,0 +1,236 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.text.selector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.flowpowered.math.vector.Vector3d;
+import com.flowpowered.math.vector.Vector3i;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+import org.mockito.stubbing.Answer;
+import org.spongepowered.api.entity.Entity;
+import org.spongepowered.api.entity.EntityType;
+import org.spongepowered.api.entity.EntityTypes;
+import org.spongepowered.api.util.test.TestHooks;
+import org.spongepowered.api.world.Location;
+import org.spongepowered.api.world.World;
+import org.spongepowered.api.world.extent.Extent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+public class SelectorResolverTest {
+
+    private static final ArgumentType<Integer> X = argument();
+    private static final ArgumentType<Integer> Y = argument();
+    private static final ArgumentType<Integer> Z = argument();
+    private static final ArgumentType<Integer> DX = argument();
+    private static final ArgumentType<Integer> DY = argument();
+    private static final ArgumentType<Integer> DZ = argument();
+    private static final ArgumentType<Integer> RADIUS_MIN = argument();
+    private static final ArgumentType<Integer> RADIUS_MAX = argument();
+    private static final ArgumentType<Integer> COUNT = argument();
+    private static final EntityType PLAYER = Mockito.mock(EntityType.class);
+    private static final AtomicInteger selectorIds = new AtomicInteger();
+
+    static {
+        TestHooks.setStaticFinal(ArgumentTypes.class, "POSITION", vector(X, Y, Z));
+        TestHooks.setStaticFinal(ArgumentTypes.class, "DIMENSION", vector(DX, DY, DZ));
+        TestHooks.setStaticFinal(ArgumentTypes.class, "RADIUS", limit(RADIUS_MIN, RADIUS_MAX));
+        TestHooks.setStaticFinal(ArgumentTypes.class, "COUNT", COUNT);
+        TestHooks.setStaticFinal(ArgumentTypes.class, "ENTITY_TYPE", Mockito.mock(ArgumentType.Invertible.class));
+        TestHooks.setStaticFinal(SelectorTypes.class, "ALL_PLAYERS", Mockito.mock(SelectorType.class));
+        TestHooks.setStaticFinal(SelectorTypes.class, "ALL_ENTITIES", Mockito.mock(SelectorType.class));
+        TestHooks.setStaticFinal(SelectorTypes.class, "NEAREST_PLAYER", Mockito.mock(SelectorType.class));
+        TestHooks.setStaticFinal(SelectorTypes.class, "RANDOM", Mockito.mock(SelectorType.class));
+        TestHooks.setStaticFinal(EntityTypes.class, "PLAYER", PLAYER);
+    }
+
+    private final World world = Mockito.mock(World.class);
+
+    @Test
+    public void testBoundsIntersection() {
+        final Entity inside = entity(PLAYER, 1, 1, 1);
+        final Entity outsideVolume = entity(PLAYER, -1, 0, 0);
+        final Entity outsideRadius = entity(PLAYER, 3, 3, 3);
+        final Extent extent = extent(inside, outsideVolume, outsideRadius);
+
+        final Set<Entity> result = resolve(SelectorTypes.ALL_PLAYERS, ImmutableMap.<ArgumentType<?>, Object>builder()
+                .put(X, 0).put(Y, 0).put(Z, 0)
+                .put(DX, 10).put(DY, 10).put(DZ, 10)
+                .put(RADIUS_MAX, 3)
+                .build(), extent, entity -> true);
+        assertEquals(ImmutableSet.of(inside), result);
+
+        // Only the box shared by the volume and the radius is queried
+        final ArgumentCaptor<Vector3d> min = ArgumentCaptor.forClass(Vector3d.class);
+        final ArgumentCaptor<Vector3d> max = ArgumentCaptor.forClass(Vector3d.class);
+        Mockito.verify(extent).getEntitiesWithin(min.capture(), max.capture(), Matchers.<Predicate<Entity>>any());
+        assertEquals(new Vector3d(0, 0, 0), min.getValue());
+        assertEquals(new Vector3d(4, 4, 4), max.getValue());
+    }
+
+    @Test
+    public void testCheckOrder() {
+        final Entity zombie = entity(Mockito.mock(EntityType.class), 3, 0, 0);
+        final Entity near = entity(PLAYER, 1, 0, 0);
+        final Entity far = entity(PLAYER, 3, 0, 0);
+        final List<Entity> filtered = new ArrayList<Entity>();
+
+        final Set<Entity> result = resolve(SelectorTypes.ALL_PLAYERS, ImmutableMap.<ArgumentType<?>, Object>of(RADIUS_MIN, 2),
+                extent(zombie, near, far), entity -> filtered.add(entity));
+        assertEquals(ImmutableSet.of(far), result);
+
+        // The type is checked before the position, the filter is only tested for entities passing both
+        Mockito.verify(zombie, Mockito.never()).getLocation();
+        Mockito.verify(near).getLocation();
+        assertEquals(ImmutableList.of(far), filtered);
+    }
+
+    @Test
+    public void testCountSortsByDistance() {
+        final Entity first = entity(PLAYER, 1, 0, 0);
+        final Entity second = entity(PLAYER, 0, 2, 0);
+        final Entity third = entity(PLAYER, 0, 0, 3);
+        final Entity fourth = entity(PLAYER, -4, 0, 0);
+        final Extent extent = extent(third, first, fourth, second);
+
+        assertEquals(ImmutableList.of(first, second), ImmutableList.copyOf(
+                resolve(SelectorTypes.ALL_PLAYERS, ImmutableMap.<ArgumentType<?>, Object>of(COUNT, 2), extent, entity -> true)));
+        assertEquals(ImmutableList.of(fourth, third), ImmutableList.copyOf(
+                resolve(SelectorTypes.ALL_PLAYERS, ImmutableMap.<ArgumentType<?>, Object>of(COUNT, -2), extent, entity -> true)));
+        assertEquals(ImmutableSet.of(first), resolve(SelectorTypes.NEAREST_PLAYER, ImmutableMap.<ArgumentType<?>, Object>of(), extent,
+                entity -> true));
+    }
+
+    @Test
+    public void testMinimumCount() {
+        final Extent extent = extent(entity(PLAYER, 1, 0, 0), entity(PLAYER, 2, 0, 0));
+        assertEquals(2, resolve(SelectorTypes.ALL_PLAYERS, ImmutableMap.<ArgumentType<?>, Object>of(COUNT, Integer.MIN_VALUE), extent,
+                entity -> true).size());
+    }
+
+    @Test
+    public void testRandomShuffles() {
+        final Entity[] entities = {entity(PLAYER, 1, 0, 0), entity(PLAYER, 2, 0, 0), entity(PLAYER, 3, 0, 0)};
+        final Extent extent = extent(entities);
+        final SelectorResolver resolver = SelectorResolver.of(selector(SelectorTypes.RANDOM, ImmutableMap.<ArgumentType<?>, Object>of()));
+
+        final Set<Entity> selected = new HashSet<Entity>();
+        for (int i = 0; i < 100; i++) {
+            final Set<Entity> result = resolver.resolve(ImmutableList.of(extent), Vector3d.ZERO, entity -> true);
+            assertEquals(1, result.size());
+            selected.addAll(result);
+        }
+        // Not nearest first, every entity is picked eventually
+        assertTrue(selected.containsAll(Arrays.asList(entities)));
+    }
+
+    private static Set<Entity> resolve(SelectorType type, Map<ArgumentType<?>, Object> arguments, Extent extent, Predicate<Entity> filter) {
+        return SelectorResolver.of(selector(type, arguments)).resolve(ImmutableList.of(extent), Vector3d.ZERO, filter);
+    }
+
+    private static Selector selector(SelectorType type, Map<ArgumentType<?>, Object> arguments) {
+        // Resolvers are cached by the plain form
+        final String plain = "@test" + selectorIds.incrementAndGet();
+        return Mockito.mock(Selector.class, (Answer<Object>) invocation -> {
+            switch (invocation.getMethod().getName()) {
+                case "getType":
+                    return type;
+                case "get":
+                    return Optional.ofNullable(arguments.get(invocation.getArguments()[0]));
+                case "isInverted":
+                    return false;
+                case "toPlain":
+                    return plain;
+                default:
+                    return null;
+            }
+        });
+    }
+
+    private Entity entity(EntityType type, double x, double y, double z) {
+        final Entity entity = Mockito.mock(Entity.class);
+        Mockito.when(entity.getType()).thenReturn(type);
+        Mockito.when(entity.getLocation()).thenReturn(new Location<World>(this.world, x, y, z));
+        return entity;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Extent extent(Entity... entities) {
+        final List<Entity> all = Arrays.asList(entities);
+        final Extent extent = Mockito.mock(TestExtent.class);
+        Mockito.when(extent.getEntities(Matchers.<Predicate<Entity>>any())).thenAnswer(
+                invocation -> all.stream().filter((Predicate<Entity>) invocation.getArguments()[0]).collect(Collectors.toList()));
+        Mockito.when(extent.getEntitiesWithin(Matchers.<Vector3d>any(), Matchers.<Vector3d>any(), Matchers.<Predicate<Entity>>any()))
+                .thenCallRealMethod();
+        Mockito.when(extent.getEntitiesOfType(Matchers.<EntityType>any(), Matchers.<Predicate<Entity>>any())).thenCallRealMethod();
+        return extent;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ArgumentType<T> argument() {
+        return Mockito.mock(ArgumentType.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentHolder.Vector3<Vector3i, Integer> vector(ArgumentType<Integer> x, ArgumentType<Integer> y, ArgumentType<Integer> z) {
+        final ArgumentHolder.Vector3<Vector3i, Integer> vector = Mockito.mock(ArgumentHolder.Vector3.class);
+        Mockito.when(vector.x()).thenReturn(x);
+        Mockito.when(vector.y()).thenReturn(y);
+        Mockito.when(vector.z()).thenReturn(z);
+        return vector;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentHolder.Limit<ArgumentType<Integer>> limit(ArgumentType<Integer> minimum, ArgumentType<Integer> maximum) {
+        final ArgumentHolder.Limit<ArgumentType<Integer>> limit = Mockito.mock(ArgumentHolder.Limit.class);
+        Mockito.when(limit.minimum()).thenReturn(minimum);
+        Mockito.when(limit.maximum()).thenReturn(maximum);
+        return limit;
+    }
+
+    /**
+     * Lets Mockito call the default lookups of {@link Extent}.
+     */
+    abstract static class TestExtent implements Extent {
+    }
+
+}
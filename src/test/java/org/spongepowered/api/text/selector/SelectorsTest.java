@@ -0,0 +1,95 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.text.selector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import com.google.common.cache.CacheStats;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+import org.spongepowered.api.util.test.TestHooks;
+
+public class SelectorsTest {
+
+    private static final SelectorFactory factory = Mockito.mock(SelectorFactory.class);
+
+    static {
+        TestHooks.setStaticFinal(Selectors.class, "factory", factory);
+    }
+
+    @Before
+    public void setUp() {
+        Mockito.reset(factory);
+        Mockito.when(factory.parseRawSelector(Matchers.anyString())).thenAnswer(invocation -> Mockito.mock(Selector.class));
+        Selectors.clearParseCache();
+    }
+
+    @Test
+    public void testParseCached() {
+        final Selector selector = Selectors.parse("@p");
+        assertSame(selector, Selectors.parse("@p"));
+        assertNotSame(selector, Selectors.parse("@a"));
+        Mockito.verify(factory).parseRawSelector("@p");
+    }
+
+    @Test
+    public void testClearParseCache() {
+        final Selector selector = Selectors.parse("@p");
+        Selectors.clearParseCache();
+        assertNotSame(selector, Selectors.parse("@p"));
+        Mockito.verify(factory, Mockito.times(2)).parseRawSelector("@p");
+    }
+
+    @Test
+    public void testInvalidNotCached() {
+        Mockito.when(factory.parseRawSelector("@x")).thenThrow(new IllegalArgumentException());
+        for (int i = 0; i < 2; i++) {
+            try {
+                Selectors.parse("@x");
+            } catch (IllegalArgumentException ignored) {
+                // Expected
+            }
+        }
+        Mockito.verify(factory, Mockito.times(2)).parseRawSelector("@x");
+    }
+
+    @Test
+    public void testParseCacheStats() {
+        final CacheStats before = Selectors.getParseCacheStats();
+        Selectors.parse("@p");
+        Selectors.parse("@p");
+        Selectors.parse("@a");
+        Selectors.parse("@p");
+
+        final CacheStats stats = Selectors.getParseCacheStats().minus(before);
+        assertEquals(2, stats.hitCount());
+        assertEquals(2, stats.missCount());
+    }
+
+}
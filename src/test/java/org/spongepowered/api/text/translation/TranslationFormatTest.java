@@ -0,0 +1,128 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.text.translation;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import java.util.Formattable;
+import java.util.Formatter;
+import java.util.List;
+import java.util.Locale;
+
+public class TranslationFormatTest {
+
+    private static final List<String> PATTERNS = ImmutableList.of(
+            "",
+            "no arguments",
+            "%s",
+            "Hello %s!",
+            "%s and %s",
+            "%2$s before %1$s",
+            "%1$s %1$s",
+            "%s %1$s %s",
+            "%10$s",
+            "100%% done",
+            "line%nbreak",
+            "%%s",
+            // Formatted using String.format
+            "%d items",
+            "%5s|",
+            "%S",
+            "%<s",
+            "%1$",
+            "%0$s",
+            "trailing %",
+            "%-s");
+
+    private static final List<Object[]> ARGUMENTS = ImmutableList.of(
+            new Object[0],
+            new Object[] {"a"},
+            new Object[] {"a", 2},
+            new Object[] {null, "b", "c"},
+            new Object[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10},
+            new Object[] {new Upper("formattable"), "b"});
+
+    private static String format(Formatting formatting) {
+        try {
+            return formatting.format();
+        } catch (RuntimeException e) {
+            return e.getClass().getName();
+        }
+    }
+
+    @Test
+    public void testMatchesStringFormat() {
+        for (String pattern : PATTERNS) {
+            final TranslationFormat format = new TranslationFormat(pattern);
+            assertEquals(pattern, format.getPattern());
+            for (int i = 0; i < ARGUMENTS.size(); i++) {
+                final Object[] args = ARGUMENTS.get(i);
+                assertEquals(pattern + " with arguments " + i,
+                        format(() -> String.format(Locale.ROOT, pattern, args)),
+                        format(() -> format.format(Locale.ROOT, args)));
+            }
+        }
+    }
+
+    @Test
+    public void testCompiled() {
+        assertEquals("b a", new TranslationFormat("%2$s %1$s").format(Locale.ROOT, "a", "b"));
+        assertEquals("100% " + System.lineSeparator(), new TranslationFormat("100%% %n").format(Locale.ROOT));
+        assertEquals("null", new TranslationFormat("%s").format(Locale.ROOT, (Object) null));
+    }
+
+    private interface Formatting {
+
+        String format();
+
+    }
+
+    /**
+     * Formats itself in upper case, which only {@link Formatter} knows about.
+     */
+    private static final class Upper implements Formattable {
+
+        private final String value;
+
+        Upper(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public void formatTo(Formatter formatter, int flags, int width, int precision) {
+            formatter.format("%s", this.value.toUpperCase(Locale.ROOT));
+        }
+
+        @Override
+        public String toString() {
+            return this.value;
+        }
+
+    }
+
+}
@@ -24,19 +24,44 @@
  */
 package org.spongepowered.api.util.command;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.mockito.Mockito;
+import org.spongepowered.api.service.scheduler.AsyncPool;
+import org.spongepowered.api.service.scheduler.SchedulerService;
+import org.spongepowered.api.service.scheduler.Task;
+import org.spongepowered.api.service.scheduler.TaskBuilder;
+import org.spongepowered.api.text.Texts;
 import org.spongepowered.api.util.command.args.CommandContext;
+import org.spongepowered.api.util.command.args.GenericArguments;
 import org.spongepowered.api.util.command.dispatcher.SimpleDispatcher;
+import org.spongepowered.api.util.command.spec.AsyncCommandExecutor;
 import org.spongepowered.api.util.command.spec.CommandExecutor;
 import org.spongepowered.api.util.command.spec.CommandSpec;
+import org.spongepowered.api.util.test.TestHooks;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * Test for basic commandspec creation.
  */
 public class CommandSpecTest {
+    static {
+        TestHooks.initialize();
+    }
+
     @Rule
     public ExpectedException expected = ExpectedException.none();
 
@@ -64,4 +89,213 @@ public void testExecutorRequired() {
                 .build();
 
     }
+
+    private static SchedulerService immediateScheduler() {
+        final SchedulerService scheduler = Mockito.mock(ImmediateScheduler.class);
+        Mockito.when(scheduler.createTaskBuilder()).thenAnswer(invocation -> new ImmediateTaskBuilder());
+        Mockito.when(scheduler.createSyncExecutor(Mockito.any())).thenCallRealMethod();
+        Mockito.when(scheduler.createAsyncExecutor(Mockito.any())).thenCallRealMethod();
+        Mockito.when(scheduler.createAsyncExecutor(Mockito.any(), Mockito.any(AsyncPool.class))).thenCallRealMethod();
+        return scheduler;
+    }
+
+    @Test
+    public void testAsyncExecutor() throws Exception {
+        final SchedulerService scheduler = immediateScheduler();
+        final CompletableFuture<CommandResult> pending = new CompletableFuture<CommandResult>();
+        final CommandSpec cmd = CommandSpec.builder()
+                .executorAsync(new Object(), scheduler, (src, args) -> pending)
+                .maxAsyncExecutions(1)
+                .build();
+        final CommandSource source = Mockito.mock(CommandSource.class);
+        Mockito.when(source.getIdentifier()).thenReturn("source");
+
+        final CompletableFuture<CommandResult> result = cmd.processAsync(source, "");
+        assertTrue(cmd.processAsync(source, "").isCompletedExceptionally());
+
+        pending.complete(CommandResult.success());
+        assertEquals(CommandResult.success(), result.get(1, TimeUnit.SECONDS));
+        assertEquals(CommandResult.success(), cmd.processAsync(source, "").get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testAsyncLimitPerCommand() throws Exception {
+        final SchedulerService scheduler = immediateScheduler();
+        final CompletableFuture<CommandResult> pending = new CompletableFuture<CommandResult>();
+        final CommandSpec first = CommandSpec.builder()
+                .executorAsync(new Object(), scheduler, (src, args) -> pending)
+                .maxAsyncExecutions(1)
+                .build();
+        final CommandSpec second = CommandSpec.builder()
+                .executorAsync(new Object(), scheduler, (src, args) -> CompletableFuture.completedFuture(CommandResult.success()))
+                .maxAsyncExecutions(1)
+                .build();
+        final CommandSource source = Mockito.mock(CommandSource.class);
+        Mockito.when(source.getIdentifier()).thenReturn("shared");
+
+        first.processAsync(source, "");
+        assertTrue(first.processAsync(source, "").isCompletedExceptionally());
+        // Other commands have their own limit
+        assertEquals(CommandResult.success(), second.processAsync(source, "").get(1, TimeUnit.SECONDS));
+
+        pending.complete(CommandResult.success());
+        assertEquals(CommandResult.success(), first.processAsync(source, "").get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testAsyncSuggestions() throws Exception {
+        final CompletableFuture<List<String>> pending = new CompletableFuture<List<String>>();
+        final List<List<String>> completed = Lists.newArrayList();
+        final CommandSpec cmd = CommandSpec.builder()
+                .arguments(GenericArguments.choices(Texts.of("choice"), ImmutableMap.of("alpha", "alpha", "beta", "beta")))
+                .executorAsync(new Object(), immediateScheduler(), new AsyncCommandExecutor() {
+
+                    @Override
+                    public CompletableFuture<CommandResult> executeAsync(CommandSource src, CommandContext args) {
+                        return CompletableFuture.completedFuture(CommandResult.success());
+                    }
+
+                    @Override
+                    public CompletableFuture<List<String>> getSuggestionsAsync(CommandSource src, String arguments, List<String> suggestions) {
+                        completed.add(suggestions);
+                        return pending;
+                    }
+
+                })
+                .maxAsyncExecutions(1)
+                .build();
+        final CommandSource source = Mockito.mock(CommandSource.class);
+        Mockito.when(source.getIdentifier()).thenReturn("suggestions");
+
+        final CompletableFuture<List<String>> result = cmd.getSuggestionsAsync(source, "a");
+        // The elements were completed on the calling thread
+        assertEquals(ImmutableList.of(ImmutableList.of("alpha")), completed);
+        assertTrue(cmd.getSuggestionsAsync(source, "").isCompletedExceptionally());
+        assertTrue(cmd.processAsync(source, "alpha").isCompletedExceptionally());
+
+        pending.complete(Lists.newArrayList("alpha", "alpha2"));
+        assertEquals(Lists.newArrayList("alpha", "alpha2"), result.get(1, TimeUnit.SECONDS));
+        assertEquals(CommandResult.success(), cmd.processAsync(source, "alpha").get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testAsyncDefaultSuggestions() throws Exception {
+        final CommandSpec cmd = CommandSpec.builder()
+                .arguments(GenericArguments.choices(Texts.of("choice"), ImmutableMap.of("alpha", "alpha", "beta", "beta")))
+                .executorAsync(new Object(), immediateScheduler(), (src, args) -> CompletableFuture.completedFuture(CommandResult.success()))
+                .build();
+        final CommandSource source = Mockito.mock(CommandSource.class);
+        Mockito.when(source.getIdentifier()).thenReturn("default");
+        assertEquals(Lists.newArrayList("beta"), cmd.getSuggestionsAsync(source, "b").get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testAsyncNullFutureReleasesSlot() throws Exception {
+        final boolean[] returnNull = {true};
+        final CommandSpec cmd = CommandSpec.builder()
+                .executorAsync(new Object(), immediateScheduler(),
+                        (src, args) -> returnNull[0] ? null : CompletableFuture.completedFuture(CommandResult.success()))
+                .maxAsyncExecutions(1)
+                .build();
+        final CommandSource source = Mockito.mock(CommandSource.class);
+        Mockito.when(source.getIdentifier()).thenReturn("null");
+
+        assertTrue(cmd.processAsync(source, "").isCompletedExceptionally());
+        returnNull[0] = false;
+        assertEquals(CommandResult.success(), cmd.processAsync(source, "").get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testAsyncFailureOnMainThread() throws Exception {
+        final ScheduledExecutorService mainThread = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "main"));
+        try {
+            final SchedulerService scheduler = immediateScheduler();
+            Mockito.doReturn(mainThread).when(scheduler).createSyncExecutor(Mockito.any());
+            final CompletableFuture<CommandResult> pending = new CompletableFuture<CommandResult>();
+            final CommandSpec cmd = CommandSpec.builder()
+                    .executorAsync(new Object(), scheduler, (src, args) -> pending)
+                    .build();
+            final CommandSource source = Mockito.mock(CommandSource.class);
+            Mockito.when(source.getIdentifier()).thenReturn("failing");
+
+            final CompletableFuture<String> thread = cmd.processAsync(source, "")
+                    .handle((result, ex) -> ex != null ? Thread.currentThread().getName() : "completed normally");
+            pending.completeExceptionally(new CommandException(Texts.of("failed")));
+            assertEquals("main", thread.get(1, TimeUnit.SECONDS));
+        } finally {
+            mainThread.shutdown();
+        }
+    }
+
+    /**
+     * Lets the mock call the default executor factory methods, which cannot
+     * be called on a mocked interface.
+     */
+    private abstract static class ImmediateScheduler implements SchedulerService {
+    }
+
+    /**
+     * Runs tasks immediately when they are submitted.
+     */
+    private static class ImmediateTaskBuilder implements TaskBuilder {
+        private Consumer<Task> executor;
+
+        @Override
+        public TaskBuilder async(AsyncPool pool) {
+            return this;
+        }
+
+        @Override
+        public TaskBuilder execute(Consumer<Task> executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        @Override
+        public TaskBuilder delay(long delay, TimeUnit unit) {
+            return this;
+        }
+
+        @Override
+        public TaskBuilder delayTicks(long ticks) {
+            return this;
+        }
+
+        @Override
+        public TaskBuilder interval(long interval, TimeUnit unit) {
+            return this;
+        }
+
+        @Override
+        public TaskBuilder intervalTicks(long ticks) {
+            return this;
+        }
+
+        @Override
+        public TaskBuilder budget(long budget, TimeUnit unit) {
+            return this;
+        }
+
+        @Override
+        public TaskBuilder deferrable() {
+            return this;
+        }
+
+        @Override
+        public TaskBuilder spread() {
+            return this;
+        }
+
+        @Override
+        public TaskBuilder name(String name) {
+            return this;
+        }
+
+        @Override
+        public Task submit(Object plugin) {
+            final Task task = Mockito.mock(Task.class);
+            this.executor.accept(task);
+            return task;
+        }
+    }
 }
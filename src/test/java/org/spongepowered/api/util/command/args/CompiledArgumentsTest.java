@@ -0,0 +1,83 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.util.command.args;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.spongepowered.api.util.command.args.GenericArguments.integer;
+import static org.spongepowered.api.util.command.args.GenericArguments.optional;
+import static org.spongepowered.api.util.command.args.GenericArguments.repeated;
+import static org.spongepowered.api.util.command.args.GenericArguments.seq;
+import static org.spongepowered.api.util.command.args.GenericArguments.string;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.spongepowered.api.text.Texts;
+import org.spongepowered.api.util.command.CommandSource;
+import org.spongepowered.api.util.command.args.parsing.InputTokenizers;
+import org.spongepowered.api.util.test.TestHooks;
+
+import java.util.Optional;
+
+/**
+ * Tests for parsing through {@link CompiledArguments}.
+ */
+public class CompiledArgumentsTest {
+
+    static {
+        TestHooks.initialize();
+    }
+
+    private static CommandContext parse(CompiledArguments compiled, String input) throws ArgumentParseException {
+        final CommandContext context = compiled.createContext();
+        compiled.parse(Mockito.mock(CommandSource.class), new CommandArgs(input, InputTokenizers.quotedStrings(false).tokenize(input, false)),
+                context);
+        return context;
+    }
+
+    @Test
+    public void testNestedElements() throws ArgumentParseException {
+        final CompiledArguments compiled = CompiledArguments.compile(seq(string(Texts.of("name")), seq(repeated(integer(Texts.of("num")), 2),
+                optional(string(Texts.of("extra"))))));
+        final CommandContext context = parse(compiled, "bob 1 2");
+
+        assertEquals(Optional.of("bob"), context.getOne("name"));
+        assertEquals(ImmutableList.of(1, 2), ImmutableList.copyOf(context.<Integer>getAll("num")));
+        assertEquals(Optional.empty(), context.getOne("num"));
+        assertFalse(context.hasAny("extra"));
+    }
+
+    @Test
+    public void testUnknownKeys() throws ArgumentParseException {
+        final CommandContext context = parse(CompiledArguments.compile(string(Texts.of("name"))), "bob");
+        context.putArg("other", "value");
+
+        assertTrue(context.hasAny("other"));
+        assertEquals(Optional.of("value"), context.getOne("other"));
+    }
+
+}
@@ -28,6 +28,7 @@
 import static org.junit.Assert.assertFalse;
 import static org.spongepowered.api.util.command.args.GenericArguments.allOf;
 import static org.spongepowered.api.util.command.args.GenericArguments.bool;
+import static org.spongepowered.api.util.command.args.GenericArguments.catalogedElement;
 import static org.spongepowered.api.util.command.args.GenericArguments.choices;
 import static org.spongepowered.api.util.command.args.GenericArguments.enumValue;
 import static org.spongepowered.api.util.command.args.GenericArguments.firstParsing;
@@ -42,18 +43,25 @@
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.mockito.Mockito;
+import org.spongepowered.api.Game;
+import org.spongepowered.api.GameRegistry;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.Texts;
 import org.spongepowered.api.util.command.CommandException;
 import org.spongepowered.api.util.command.CommandResult;
 import org.spongepowered.api.util.command.CommandSource;
+import org.spongepowered.api.util.command.args.parsing.SingleArg;
 import org.spongepowered.api.util.command.spec.CommandExecutor;
 import org.spongepowered.api.util.command.spec.CommandSpec;
 import org.spongepowered.api.util.test.TestHooks;
+import org.spongepowered.api.world.DimensionType;
+
+import java.util.List;
 
 
 /**
@@ -200,6 +208,50 @@ public void testEnumValue() throws ArgumentParseException {
         parseForInput("notanel", enumEl);
     }
 
+    @Test
+    public void testEnumValueCompletion() {
+        CommandElement enumEl = enumValue(untr("val"), TestEnum.class);
+        assertEquals(ImmutableList.of("TWO"), enumEl.complete(MOCK_SOURCE, new CommandArgs("t", ImmutableList.of(new SingleArg("t", 0, 1))),
+                new CommandContext()));
+        assertEquals(ImmutableList.of("ONE", "RED"), enumEl.complete(MOCK_SOURCE, new CommandArgs("[or]", ImmutableList.of(new SingleArg("[or]", 0,
+                4))), new CommandContext()));
+    }
+
+    private static List<String> complete(CommandElement element, String input) {
+        return element.complete(MOCK_SOURCE, new CommandArgs(input, ImmutableList.of(new SingleArg(input, 0, input.length()))),
+                new CommandContext());
+    }
+
+    private static DimensionType dimension(String id) {
+        final DimensionType type = Mockito.mock(DimensionType.class);
+        Mockito.when(type.getId()).thenReturn(id);
+        return type;
+    }
+
+    @Test
+    public void testCatalogedElementCompletion() {
+        final List<DimensionType> types = Lists.newArrayList(dimension("overworld"), dimension("nether"), dimension("Nether"), dimension("end"));
+        final GameRegistry registry = Mockito.mock(GameRegistry.class);
+        Mockito.when(registry.getAllOf(DimensionType.class)).thenReturn(types);
+        final Game game = Mockito.mock(Game.class);
+        Mockito.when(game.getRegistry()).thenReturn(registry);
+
+        CommandElement catalogEl = catalogedElement(untr("val"), game, DimensionType.class);
+        assertEquals(ImmutableList.of("Nether", "nether"), complete(catalogEl, "ne"));
+        assertEquals(ImmutableList.of("Nether", "nether"), complete(catalogEl, "NETHER"));
+        assertEquals(ImmutableList.of("overworld"), complete(catalogEl, "o"));
+        assertEquals(ImmutableList.of(), complete(catalogEl, "x"));
+
+        // The index is rebuilt once more types are registered
+        types.add(dimension("netherrack"));
+        assertEquals(ImmutableList.of("Nether", "nether", "netherrack"), complete(catalogEl, "nether"));
+
+
+        // ...and when a type is replaced without changing the number of types
+        types.set(0, dimension("outland"));
+        assertEquals(ImmutableList.of("outland"), complete(catalogEl, "o"));
+    }
+
     @Test
     public void testRemainingJoinedStrings() throws ArgumentParseException {
         CommandElement remainingJoined = remainingJoinedStrings(untr("val"));
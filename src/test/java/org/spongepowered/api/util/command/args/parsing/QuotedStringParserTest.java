@@ -97,4 +97,21 @@ public void testEscape() throws ArgumentParseException {
                 parseFrom("this demonstrates\\ escapes \\\"of 'various\\' characters\'"));
     }
 
+    @Test
+    public void testTrailingWhitespace() throws ArgumentParseException {
+        assertEquals(ImmutableList.of("first", "second"), parseFrom("  first   second   "));
+    }
+
+    @Test
+    public void testArgumentIndices() throws ArgumentParseException {
+        final List<SingleArg> args = new QuotedStringTokenizer(true, false).tokenize("first \"second arg\" third", false);
+        assertEquals(3, args.size());
+        assertEquals("first", args.get(0).getValue());
+        assertEquals(0, args.get(0).getStartIdx());
+        assertEquals("second arg", args.get(1).getValue());
+        assertEquals(6, args.get(1).getStartIdx());
+        assertEquals("third", args.get(2).getValue());
+        assertEquals(19, args.get(2).getStartIdx());
+    }
+
 }
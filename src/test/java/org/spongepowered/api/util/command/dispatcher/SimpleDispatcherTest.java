@@ -0,0 +1,76 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.util.command.dispatcher;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.spongepowered.api.util.command.CommandCallable;
+import org.spongepowered.api.util.command.CommandException;
+import org.spongepowered.api.util.command.CommandSource;
+
+/**
+ * Tests for alias lookup and suggestions in {@link SimpleDispatcher}.
+ */
+public class SimpleDispatcherTest {
+
+    private static CommandCallable permitted(boolean permitted) {
+        CommandCallable callable = Mockito.mock(CommandCallable.class);
+        Mockito.when(callable.testPermission(Mockito.any(CommandSource.class))).thenReturn(permitted);
+        return callable;
+    }
+
+    @Test
+    public void testSuggestionsByPrefix() throws CommandException {
+        final SimpleDispatcher dispatcher = new SimpleDispatcher();
+        dispatcher.register(permitted(true), "teleport", "tp");
+        dispatcher.register(permitted(true), "time");
+        dispatcher.register(permitted(false), "tell");
+        dispatcher.register(permitted(true), "give");
+
+        final CommandSource source = Mockito.mock(CommandSource.class);
+        assertEquals(ImmutableList.of("teleport", "time", "tp"), dispatcher.getSuggestions(source, "T"));
+        assertEquals(ImmutableList.of("teleport"), dispatcher.getSuggestions(source, "te"));
+        assertEquals(ImmutableList.of(), dispatcher.getSuggestions(source, "x"));
+        assertEquals(ImmutableList.of("give", "teleport", "time", "tp"), dispatcher.getSuggestions(source, ""));
+    }
+
+    @Test
+    public void testRemoveUpdatesLookups() throws CommandException {
+        final SimpleDispatcher dispatcher = new SimpleDispatcher();
+        dispatcher.register(permitted(true), "teleport", "tp");
+        assertTrue(dispatcher.containsAlias("TP"));
+
+        dispatcher.remove("tp");
+        assertFalse(dispatcher.containsAlias("tp"));
+        assertTrue(dispatcher.get("teleport").isPresent());
+        assertEquals(ImmutableList.of("teleport"), dispatcher.getSuggestions(Mockito.mock(CommandSource.class), "t"));
+    }
+
+}
@@ -27,6 +27,7 @@
 import org.spongepowered.api.text.Texts;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public class TestHooks {
@@ -47,4 +48,30 @@ public static void initialize()  {
         }
     }
 
+    /**
+     * Sets a static final field, such as a catalog constant or an
+     * implementation provided factory, to the given value.
+     *
+     * @param owner The class declaring the field
+     * @param name The name of the field
+     * @param value The new value of the field
+     */
+    public static void setStaticFinal(Class<?> owner, String name, Object value) {
+        try {
+            // Initialize the class first, its initializer would reset the field
+            Class.forName(owner.getName(), true, owner.getClassLoader());
+            final Field field = owner.getDeclaredField(name);
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            final Field unsafeField = unsafeClass.getDeclaredField("theUnsafe");
+            unsafeField.setAccessible(true);
+            final Object unsafe = unsafeField.get(null);
+            final Object base = unsafeClass.getMethod("staticFieldBase", Field.class).invoke(unsafe, field);
+            final long offset = (Long) unsafeClass.getMethod("staticFieldOffset", Field.class).invoke(unsafe, field);
+            final Method putObject = unsafeClass.getMethod("putObjectVolatile", Object.class, long.class, Object.class);
+            putObject.invoke(unsafe, base, offset, value);
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to set " + owner.getName() + "." + name, e);
+        }
+    }
+
 }